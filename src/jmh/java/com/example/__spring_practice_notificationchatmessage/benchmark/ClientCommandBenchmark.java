@@ -0,0 +1,77 @@
+package com.example.__spring_practice_notificationchatmessage.benchmark;
+
+import com.example.__spring_practice_notificationchatmessage.websocket.ClientCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inbound client frame handling: the streaming command decoder against the old readValue(Map) parse,
+ * and handleMessage end to end for a ping, including the pre-encoded pong.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ClientCommandBenchmark {
+
+    private static final String PING = "{\"type\":\"ping\"}";
+    private static final String JOIN_ROOM = "{\"type\":\"join_room\",\"roomId\":\"room1\",\"lastSeenId\":\"1700000000000-0\"}";
+    private static final String GET_HISTORY = "{\"type\":\"get_history\",\"page\":2,\"size\":50,\"client\":{\"version\":\"1.4.2\"}}";
+
+    private MessagingFixture fixture;
+    private StubWebSocketSession session;
+    private TextMessage pingFrame;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = new MessagingFixture();
+        session = fixture.joinRoom("room1", 1).get(0);
+        pingFrame = new TextMessage(PING);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public ClientCommand decodePing() {
+        return fixture.commandDecoder.decode(PING);
+    }
+
+    @Benchmark
+    public ClientCommand decodeJoinRoom() {
+        return fixture.commandDecoder.decode(JOIN_ROOM);
+    }
+
+    @Benchmark
+    public ClientCommand decodeGetHistory() {
+        return fixture.commandDecoder.decode(GET_HISTORY);
+    }
+
+    // baseline: what processClientMessage did before the streaming decoder
+    @Benchmark
+    public Map<?, ?> readValueAsMapPing() throws Exception {
+        return fixture.objectMapper.readValue(PING, Map.class);
+    }
+
+    @Benchmark
+    public Map<?, ?> readValueAsMapJoinRoom() throws Exception {
+        return fixture.objectMapper.readValue(JOIN_ROOM, Map.class);
+    }
+
+    @Benchmark
+    public void handlePing() throws Exception {
+        fixture.webSocketHandler.handleMessage(session, pingFrame);
+    }
+}
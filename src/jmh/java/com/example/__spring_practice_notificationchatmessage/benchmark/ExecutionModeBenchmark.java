@@ -0,0 +1,87 @@
+package com.example.__spring_practice_notificationchatmessage.benchmark;
+
+import com.example.__spring_practice_notificationchatmessage.config.AsyncConfig;
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.model.ChatMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One room message to every member, measured until the last blocking sendMessage returns.
+ * The writer executor comes from AsyncConfig exactly as the application builds it, for
+ * spring.threads.virtual.enabled=false (PLATFORM) and true (VIRTUAL).
+ * With PLATFORM, at most writer-threads sends block at once; with VIRTUAL every session writes concurrently.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExecutionModeBenchmark {
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public String mode;
+
+    @Param({"100", "2000"})
+    public int members;
+
+    // time one socket write blocks
+    @Param({"1"})
+    public int sendDelayMillis;
+
+    private AsyncTaskExecutor outboundExecutor;
+    private MessagingFixture fixture;
+    private ChatMessage chatMessage;
+    private final LongAdder delivered = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Map.of("spring.threads.virtual.enabled", String.valueOf("VIRTUAL".equals(mode)))));
+        outboundExecutor = new AsyncConfig().outboundExecutor(new MessagingProperties(), environment);
+        if (outboundExecutor instanceof ThreadPoolTaskExecutor pool) {
+            pool.initialize();
+        }
+
+        fixture = new MessagingFixture("JSON", outboundExecutor);
+        fixture.joinRoom("room1", members, Duration.ofMillis(sendDelayMillis), delivered);
+        chatMessage = MessagingFixture.chatMessage("room1");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+        if (outboundExecutor instanceof AutoCloseable closeable) {
+            closeable.close();
+        } else if (outboundExecutor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public long sendToRoomAndWait() {
+        long target = delivered.sum() + members;
+        fixture.webSocketHandler.sendToRoom("room1", chatMessage);
+        long sum;
+        while ((sum = delivered.sum()) < target) {
+            Thread.onSpinWait();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.__spring_practice_notificationchatmessage.benchmark;
+
+import com.example.__spring_practice_notificationchatmessage.model.ChatMessage;
+import com.example.__spring_practice_notificationchatmessage.model.NotificationMessage;
+import com.example.__spring_practice_notificationchatmessage.websocket.BroadcastResult;
+import com.example.__spring_practice_notificationchatmessage.websocket.FanOutResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+// sendToRoom and broadcast against stub sessions; each call runs down to sendMessage for every member
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FanOutBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    public int members;
+
+    private MessagingFixture fixture;
+    private ChatMessage chatMessage;
+    private NotificationMessage notification;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = new MessagingFixture();
+        fixture.joinRoom("room1", members);
+        chatMessage = MessagingFixture.chatMessage("room1");
+        notification = MessagingFixture.notification("all");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public FanOutResult sendToRoom() {
+        return fixture.webSocketHandler.sendToRoom("room1", chatMessage);
+    }
+
+    @Benchmark
+    public BroadcastResult broadcast() {
+        return fixture.webSocketHandler.broadcast(notification);
+    }
+}
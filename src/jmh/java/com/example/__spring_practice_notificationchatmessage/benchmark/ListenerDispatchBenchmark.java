@@ -0,0 +1,73 @@
+package com.example.__spring_practice_notificationchatmessage.benchmark;
+
+import com.example.__spring_practice_notificationchatmessage.listener.ChannelRouter;
+import com.example.__spring_practice_notificationchatmessage.listener.RedisChannels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RedisMessageListener.onMessage: channel routing and the hand-off to the dispatch partitions.
+ * The partitions run the handlers concurrently, so onMessage throughput is bounded by how fast
+ * they deliver to a 10-member room (the BLOCK overflow policy applies back-pressure).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ListenerDispatchBenchmark {
+
+    private MessagingFixture fixture;
+    private byte[] chatChannel;
+    private byte[] userChannel;
+    private byte[] unknownChannel;
+    private Message chatMessage;
+    private Message userMessage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = new MessagingFixture();
+        fixture.joinRoom("room1", 10);
+
+        chatChannel = RedisChannels.chat("room1").getBytes(StandardCharsets.UTF_8);
+        userChannel = RedisChannels.user("room1-user0").getBytes(StandardCharsets.UTF_8);
+        unknownChannel = "metrics:unrelated".getBytes(StandardCharsets.UTF_8);
+        chatMessage = new DefaultMessage(chatChannel, fixture.pubSubCodec.encode(MessagingFixture.chatMessage("room1")));
+        userMessage = new DefaultMessage(userChannel, fixture.pubSubCodec.encode(MessagingFixture.notification("room1-user0")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public ChannelRouter.Route routeChat() {
+        return fixture.channelRouter.route(chatChannel);
+    }
+
+    @Benchmark
+    public ChannelRouter.Route routeUnknown() {
+        return fixture.channelRouter.route(unknownChannel);
+    }
+
+    @Benchmark
+    public void onMessageChat() {
+        fixture.listener.onMessage(chatMessage, null);
+    }
+
+    @Benchmark
+    public void onMessageUserNotification() {
+        fixture.listener.onMessage(userMessage, null);
+    }
+}
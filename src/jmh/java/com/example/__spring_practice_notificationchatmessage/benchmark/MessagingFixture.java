@@ -0,0 +1,134 @@
+package com.example.__spring_practice_notificationchatmessage.benchmark;
+
+import com.example.__spring_practice_notificationchatmessage.codec.JsonPayloadCodec;
+import com.example.__spring_practice_notificationchatmessage.codec.PubSubCodec;
+import com.example.__spring_practice_notificationchatmessage.codec.SmilePayloadCodec;
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.config.RedisConfig;
+import com.example.__spring_practice_notificationchatmessage.listener.ChannelRouter;
+import com.example.__spring_practice_notificationchatmessage.listener.DispatchExecutor;
+import com.example.__spring_practice_notificationchatmessage.listener.RedisMessageListener;
+import com.example.__spring_practice_notificationchatmessage.listener.RedisSubscriptionManager;
+import com.example.__spring_practice_notificationchatmessage.metrics.MessagingMetrics;
+import com.example.__spring_practice_notificationchatmessage.model.ChatMessage;
+import com.example.__spring_practice_notificationchatmessage.model.NotificationMessage;
+import com.example.__spring_practice_notificationchatmessage.service.NotificationHistoryCache;
+import com.example.__spring_practice_notificationchatmessage.service.NotificationInbox;
+import com.example.__spring_practice_notificationchatmessage.service.PresenceService;
+import com.example.__spring_practice_notificationchatmessage.websocket.BroadcastEngine;
+import com.example.__spring_practice_notificationchatmessage.websocket.ClientCommandDecoder;
+import com.example.__spring_practice_notificationchatmessage.websocket.OutboundStats;
+import com.example.__spring_practice_notificationchatmessage.websocket.RateLimiter;
+import com.example.__spring_practice_notificationchatmessage.websocket.RoomBatcher;
+import com.example.__spring_practice_notificationchatmessage.websocket.WebSocketHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wires the messaging components the way Spring does, minus Redis.
+ * By default outbound writers run inline on the calling thread, so a fan-out benchmark measures
+ * the whole path down to WebSocketSession.sendMessage on stub sessions.
+ */
+final class MessagingFixture implements AutoCloseable {
+
+    final ObjectMapper objectMapper = new RedisConfig().objectMapper();
+    final MessagingProperties properties = new MessagingProperties();
+    final MessagingMetrics metrics = new MessagingMetrics(new SimpleMeterRegistry(), properties);
+    final PubSubCodec pubSubCodec;
+    final ClientCommandDecoder commandDecoder = new ClientCommandDecoder(objectMapper, properties);
+    final ChannelRouter channelRouter = new ChannelRouter();
+    final DispatchExecutor dispatchExecutor = new DispatchExecutor(properties);
+    final NotificationHistoryCache historyCache = new NotificationHistoryCache(properties);
+    final PresenceService presenceService;
+    final RoomBatcher roomBatcher = new RoomBatcher(properties);
+    final WebSocketHandler webSocketHandler;
+    final RedisMessageListener listener;
+
+    private final ExecutorService broadcastExecutor =
+            Executors.newFixedThreadPool(properties.getBroadcast().getParallelism());
+
+    MessagingFixture() {
+        this("JSON", Runnable::run);
+    }
+
+    MessagingFixture(String publishFormat) {
+        this(publishFormat, Runnable::run);
+    }
+
+    MessagingFixture(String publishFormat, Executor outboundExecutor) {
+        properties.getCodec().setPublishFormat(publishFormat);
+        // nothing here talks to Redis, so presence only tracks local state
+        properties.getPresence().setEnabled(false);
+        // benchmarks drive one room far above any sane room limit
+        properties.getRateLimit().setEnabled(false);
+        properties.getInbox().setEnabled(false);
+
+        pubSubCodec = new PubSubCodec(
+                List.of(new JsonPayloadCodec(objectMapper), new SmilePayloadCodec(objectMapper)), properties, metrics);
+        presenceService = new PresenceService(null, pubSubCodec, properties);
+
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        RedisSubscriptionManager subscriptionManager = new RedisSubscriptionManager(
+                beans.getBeanProvider(RedisMessageListenerContainer.class),
+                beans.getBeanProvider(RedisMessageListener.class),
+                Runnable::run);
+
+        webSocketHandler = new WebSocketHandler(
+                objectMapper, properties, new OutboundStats(),
+                new BroadcastEngine(properties, broadcastExecutor),
+                subscriptionManager, null, null, roomBatcher, presenceService, commandDecoder, metrics,
+                new RateLimiter(properties), outboundExecutor, Runnable::run);
+        listener = new RedisMessageListener(
+                webSocketHandler, pubSubCodec, channelRouter, dispatchExecutor, historyCache, presenceService,
+                new NotificationInbox(null, pubSubCodec, properties), metrics);
+        dispatchExecutor.start();
+    }
+
+    // Connects `members` stub sessions, one per user, and joins them all to the room
+    List<StubWebSocketSession> joinRoom(String roomId, int members) throws Exception {
+        return joinRoom(roomId, members, Duration.ZERO, new LongAdder());
+    }
+
+    // Same, with sessions whose sendMessage blocks for sendDelay and then counts into delivered
+    List<StubWebSocketSession> joinRoom(String roomId, int members, Duration sendDelay, LongAdder delivered) throws Exception {
+        StubWebSocketSession[] sessions = new StubWebSocketSession[members];
+        for (int i = 0; i < members; i++) {
+            String userId = roomId + "-user" + i;
+            sessions[i] = new StubWebSocketSession(roomId + "-s" + i, userId, sendDelay, delivered);
+            webSocketHandler.afterConnectionEstablished(sessions[i]);
+            webSocketHandler.addUserToRoom(userId, roomId);
+        }
+        return List.of(sessions);
+    }
+
+    static ChatMessage chatMessage(String roomId) {
+        ChatMessage message = ChatMessage.textMessage(roomId, "sender", "보낸사람", "벤치마크 메시지 본문입니다. hello, world!");
+        message.setStreamId("1700000000000-0");
+        message.setSeqBlock(101L);
+        message.setSeq(142L);
+        message.setPublishedAt(System.currentTimeMillis());
+        return message;
+    }
+
+    static NotificationMessage notification(String userId) {
+        NotificationMessage notification = NotificationMessage.orderCreated(userId, "ORDER-20251015-0001");
+        notification.setPublishedAt(System.currentTimeMillis());
+        return notification;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        dispatchExecutor.stop();
+        roomBatcher.stop();
+        broadcastExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.__spring_practice_notificationchatmessage.benchmark;
+
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.model.ChatMessage;
+import com.example.__spring_practice_notificationchatmessage.service.SequenceAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * SequenceAllocator.stamp from 4 publishing threads against an in-memory INCRBY that parks for a
+ * simulated Redis round trip. blockSize=1 is one INCR per message, the baseline the leases replace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class SequenceBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int blockSize;
+
+    @Param({"1", "1000"})
+    public int rooms;
+
+    @Param({"200"})
+    public int roundTripMicros;
+
+    private SequenceAllocator allocator;
+    private String[] roomIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MessagingProperties properties = new MessagingProperties();
+        properties.getSequence().setBlockSize(blockSize);
+
+        Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+        long roundTripNanos = TimeUnit.MICROSECONDS.toNanos(roundTripMicros);
+        allocator = new SequenceAllocator((roomId, size) -> {
+            LockSupport.parkNanos(roundTripNanos);
+            return counters.computeIfAbsent(roomId, key -> new AtomicLong()).addAndGet(size);
+        }, properties);
+
+        roomIds = new String[rooms];
+        for (int i = 0; i < rooms; i++) {
+            roomIds[i] = "room" + i;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Publisher {
+        final ChatMessage message = MessagingFixture.chatMessage("room0");
+    }
+
+    @Benchmark
+    public Long stamp(Publisher publisher) {
+        ChatMessage message = publisher.message;
+        message.setRoomId(roomIds[rooms == 1 ? 0 : ThreadLocalRandom.current().nextInt(rooms)]);
+        allocator.stamp(message);
+        return message.getSeq();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.__spring_practice_notificationchatmessage.benchmark;
+
+import com.example.__spring_practice_notificationchatmessage.model.ChatMessage;
+import com.example.__spring_practice_notificationchatmessage.model.NotificationMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+// Model (de)serialization through the application ObjectMapper and through PubSubCodec per wire format
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"JSON", "SMILE"})
+    public String publishFormat;
+
+    private MessagingFixture fixture;
+    private ChatMessage chatMessage;
+    private NotificationMessage notification;
+    private byte[] chatJson;
+    private byte[] notificationJson;
+    private byte[] chatPayload;
+    private byte[] notificationPayload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = new MessagingFixture(publishFormat);
+        chatMessage = MessagingFixture.chatMessage("room1");
+        notification = MessagingFixture.notification("user1");
+        chatJson = fixture.objectMapper.writeValueAsBytes(chatMessage);
+        notificationJson = fixture.objectMapper.writeValueAsBytes(notification);
+        chatPayload = fixture.pubSubCodec.encode(chatMessage);
+        notificationPayload = fixture.pubSubCodec.encode(notification);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public byte[] objectMapperWriteChat() throws Exception {
+        return fixture.objectMapper.writeValueAsBytes(chatMessage);
+    }
+
+    @Benchmark
+    public ChatMessage objectMapperReadChat() throws Exception {
+        return fixture.objectMapper.readValue(chatJson, ChatMessage.class);
+    }
+
+    @Benchmark
+    public byte[] objectMapperWriteNotification() throws Exception {
+        return fixture.objectMapper.writeValueAsBytes(notification);
+    }
+
+    @Benchmark
+    public NotificationMessage objectMapperReadNotification() throws Exception {
+        return fixture.objectMapper.readValue(notificationJson, NotificationMessage.class);
+    }
+
+    @Benchmark
+    public byte[] codecEncodeChat() throws Exception {
+        return fixture.pubSubCodec.encode(chatMessage);
+    }
+
+    @Benchmark
+    public ChatMessage codecDecodeChat() throws Exception {
+        return fixture.pubSubCodec.decode(chatPayload, ChatMessage.class);
+    }
+
+    @Benchmark
+    public byte[] codecEncodeNotification() throws Exception {
+        return fixture.pubSubCodec.encode(notification);
+    }
+
+    @Benchmark
+    public NotificationMessage codecDecodeNotification() throws Exception {
+        return fixture.pubSubCodec.decode(notificationPayload, NotificationMessage.class);
+    }
+}
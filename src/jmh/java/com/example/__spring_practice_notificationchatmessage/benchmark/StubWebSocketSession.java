@@ -0,0 +1,138 @@
+package com.example.__spring_practice_notificationchatmessage.benchmark;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// WebSocketSession that accepts every frame and only counts them, optionally after a simulated blocking write
+public class StubWebSocketSession implements WebSocketSession {
+
+    private final String id;
+    private final URI uri;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final long sendDelayNanos;
+    private final LongAdder delivered;
+    private volatile boolean open = true;
+    private volatile long sent;
+
+    public StubWebSocketSession(String id, String userId) {
+        this(id, userId, Duration.ZERO, new LongAdder());
+    }
+
+    public StubWebSocketSession(String id, String userId, Duration sendDelay, LongAdder delivered) {
+        this.id = id;
+        this.uri = URI.create("ws://localhost/ws/chat?userId=" + userId);
+        this.sendDelayNanos = sendDelay.toNanos();
+        this.delivered = delivered;
+    }
+
+    public long getSent() {
+        return sent;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public URI getUri() {
+        return uri;
+    }
+
+    @Override
+    public HttpHeaders getHandshakeHeaders() {
+        return new HttpHeaders();
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public Principal getPrincipal() {
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return null;
+    }
+
+    @Override
+    public String getAcceptedProtocol() {
+        return null;
+    }
+
+    @Override
+    public void setTextMessageSizeLimit(int messageSizeLimit) {
+    }
+
+    @Override
+    public int getTextMessageSizeLimit() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+    }
+
+    @Override
+    public int getBinaryMessageSizeLimit() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public List<WebSocketExtension> getExtensions() {
+        return List.of();
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (sendDelayNanos > 0) {
+            // stands in for a socket write to a slow client; parks a virtual thread, holds a platform one
+            try {
+                Thread.sleep(Duration.ofNanos(sendDelayNanos));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("전송 중단", e);
+            }
+        }
+        // one writer per session at a time, so a plain volatile increment is enough
+        sent = sent + 1;
+        delivered.increment();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+    }
+
+    @Override
+    public void close(CloseStatus status) {
+        open = false;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.__spring_practice_notificationchatmessage.loadtest;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Shared by every simulated client; only counts while the measurement window is open
+final class DeliveryRecorder {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder expected = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder frames = new LongAdder();
+    private volatile boolean measuring;
+
+    void start() {
+        latency.reset();
+        published.reset();
+        expected.reset();
+        delivered.reset();
+        frames.reset();
+        measuring = true;
+    }
+
+    void stop() {
+        measuring = false;
+    }
+
+    // recipients is how many deliveries the message should produce
+    void onPublished(int recipients) {
+        if (measuring) {
+            published.increment();
+            expected.add(recipients);
+        }
+    }
+
+    void onFrame() {
+        if (measuring) {
+            frames.increment();
+        }
+    }
+
+    // sentNanos is System.nanoTime() on the publishing thread; clients run in the same JVM
+    void onDelivered(long sentNanos) {
+        if (measuring) {
+            delivered.increment();
+            latency.record(System.nanoTime() - sentNanos);
+        }
+    }
+
+    LatencyHistogram latency() {
+        return latency;
+    }
+
+    long published() {
+        return published.sum();
+    }
+
+    long expected() {
+        return expected.sum();
+    }
+
+    long delivered() {
+        return delivered.sum();
+    }
+
+    long frames() {
+        return frames.sum();
+    }
+}
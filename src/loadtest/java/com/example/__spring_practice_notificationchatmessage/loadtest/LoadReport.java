@@ -0,0 +1,47 @@
+package com.example.__spring_practice_notificationchatmessage.loadtest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of one load-test run, written as JSON next to the build outputs.
+ *
+ * @param expectedDeliveries deliveries the published messages should have produced (room/group size summed)
+ * @param latencyMillis      publish-to-client delivery latency: p50, p99, p999, max
+ * @param heapPeakMb         peak heap over the measurement window, summed over heap pools
+ * @param gcPauseMillis      collection time per collector over the measurement window
+ * @param server             server-side drop/eviction counters at the end of the run
+ * @param failures           gate violations; the run passed when empty
+ */
+public record LoadReport(
+        LoadTestConfig config,
+        double elapsedSeconds,
+        long published,
+        long expectedDeliveries,
+        long delivered,
+        long framesReceived,
+        double publishedPerSecond,
+        double deliveredPerSecond,
+        Map<String, Double> latencyMillis,
+        double heapUsedMb,
+        double heapPeakMb,
+        long gcCount,
+        long gcTimeMillis,
+        Map<String, Long> gcPauseMillis,
+        Map<String, Long> server,
+        List<String> failures
+) {
+
+    public boolean passed() {
+        return failures.isEmpty();
+    }
+
+    public String summary() {
+        return String.format(
+                "부하 테스트 결과 - 발행: %d건 (%.0f/s), 수신: %d/%d건 (%.0f/s), 지연(ms) p50=%.2f p99=%.2f p999=%.2f max=%.2f, "
+                        + "힙: %.0fMB (최대 %.0fMB), GC: %d회 %dms, 판정: %s",
+                published, publishedPerSecond, delivered, expectedDeliveries, deliveredPerSecond,
+                latencyMillis.get("p50"), latencyMillis.get("p99"), latencyMillis.get("p999"), latencyMillis.get("max"),
+                heapUsedMb, heapPeakMb, gcCount, gcTimeMillis, passed() ? "통과" : "실패 " + failures);
+    }
+}
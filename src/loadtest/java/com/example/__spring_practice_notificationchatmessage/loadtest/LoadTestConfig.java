@@ -0,0 +1,90 @@
+package com.example.__spring_practice_notificationchatmessage.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Load-test parameters, given as --name=value arguments, e.g.
+ * ./gradlew loadTest -PloadTestArgs="--clients=5000 --chat-rate=2000 --duration=60s --max-p99-ms=50"
+ *
+ * @param chatRate         chat messages per second, spread over all rooms
+ * @param notificationRate user notifications per second, to random connected users
+ * @param groupRate        group notifications per second
+ * @param transport        servlet (Tomcat) or reactive (Reactor Netty, the "reactive" profile)
+ * @param maxP99Millis     fail the run (exit code 1) when p99 delivery latency exceeds this; 0 disables the gate
+ */
+public record LoadTestConfig(
+        int clients,
+        int roomSize,
+        int groups,
+        double chatRate,
+        double notificationRate,
+        double groupRate,
+        int publisherThreads,
+        boolean batching,
+        String transport,
+        Duration warmup,
+        Duration duration,
+        String reportPath,
+        double maxP99Millis
+) {
+
+    private static final Set<String> KNOWN = Set.of(
+            "clients", "room-size", "groups", "chat-rate", "notification-rate", "group-rate",
+            "publisher-threads", "batch", "transport", "warmup", "duration", "report", "max-p99-ms");
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("잘못된 인자: " + arg + " (--name=value 형식)");
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                Integer.parseInt(values.getOrDefault("clients", "1000")),
+                Integer.parseInt(values.getOrDefault("room-size", "50")),
+                Integer.parseInt(values.getOrDefault("groups", "10")),
+                Double.parseDouble(values.getOrDefault("chat-rate", "500")),
+                Double.parseDouble(values.getOrDefault("notification-rate", "200")),
+                Double.parseDouble(values.getOrDefault("group-rate", "5")),
+                Integer.parseInt(values.getOrDefault("publisher-threads", "4")),
+                Boolean.parseBoolean(values.getOrDefault("batch", "false")),
+                values.getOrDefault("transport", "servlet"),
+                duration(values.getOrDefault("warmup", "10s")),
+                duration(values.getOrDefault("duration", "30s")),
+                values.getOrDefault("report", "build/reports/loadtest/report.json"),
+                Double.parseDouble(values.getOrDefault("max-p99-ms", "0"))
+        );
+        if (!config.transport().equals("servlet") && !config.transport().equals("reactive")) {
+            throw new IllegalArgumentException("알 수 없는 transport: " + config.transport() + " (servlet | reactive)");
+        }
+        values.keySet().removeAll(KNOWN);
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("알 수 없는 인자: " + values.keySet());
+        }
+        return config;
+    }
+
+    public int rooms() {
+        return Math.max(1, (clients + roomSize - 1) / roomSize);
+    }
+
+    // 30s, 500ms, 2m
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
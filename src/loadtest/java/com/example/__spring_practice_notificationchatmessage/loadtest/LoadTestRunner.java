@@ -0,0 +1,368 @@
+package com.example.__spring_practice_notificationchatmessage.loadtest;
+
+import com.example.__spring_practice_notificationchatmessage.Application;
+import com.example.__spring_practice_notificationchatmessage.codec.PubSubCodec;
+import com.example.__spring_practice_notificationchatmessage.listener.DispatchExecutor;
+import com.example.__spring_practice_notificationchatmessage.listener.RedisChannels;
+import com.example.__spring_practice_notificationchatmessage.listener.RedisSubscriptionManager;
+import com.example.__spring_practice_notificationchatmessage.model.ChatMessage;
+import com.example.__spring_practice_notificationchatmessage.model.NotificationMessage;
+import com.example.__spring_practice_notificationchatmessage.service.ChatService;
+import com.example.__spring_practice_notificationchatmessage.service.NotificationService;
+import com.example.__spring_practice_notificationchatmessage.websocket.OutboundStats;
+import com.example.__spring_practice_notificationchatmessage.websocket.RateLimiter;
+import com.example.__spring_practice_notificationchatmessage.websocket.WebSocketHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts the application against an embedded Redis server on a free local port, connects simulated
+ * WebSocket clients to /ws/chat and /ws/notifications, joins rooms and groups through the normal
+ * client commands and drives chat, user and group publishes at fixed rates.
+ * Everything runs in this JVM on loopback, so a release can be gated on it without network access.
+ */
+@Slf4j
+public final class LoadTestRunner {
+
+    private static final String USER_PREFIX = "load-user-";
+    private static final String ROOM_PREFIX = "load-room-";
+    private static final String GROUP_PREFIX = "load-group-";
+
+    private final LoadTestConfig config;
+    private final ConfigurableApplicationContext app;
+    private final int port;
+    private final DeliveryRecorder recorder = new DeliveryRecorder();
+    private final List<WebSocketSession> sessions = new ArrayList<>();
+    private volatile boolean publishing = true;
+
+    private LoadTestRunner(LoadTestConfig config, ConfigurableApplicationContext app, int port) {
+        this.config = config;
+        this.app = app;
+        this.port = port;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        int redisPort = freePort();
+        RedisServer redis = new RedisServer(redisPort);
+        redis.start();
+
+        boolean passed = false;
+        ConfigurableApplicationContext app = null;
+        try {
+            SpringApplicationBuilder builder = new SpringApplicationBuilder(Application.class);
+            if (config.transport().equals("reactive")) {
+                builder.profiles("reactive");
+            }
+            app = builder
+                    .properties(
+                            "server.port=0",
+                            "spring.data.redis.host=localhost",
+                            "spring.data.redis.port=" + redisPort,
+                            "messaging.batching.enabled=" + config.batching(),
+                            // per-frame DEBUG logging from application.yml would dominate the measurement
+                            "logging.level.org.springframework.data.redis=INFO",
+                            "logging.level.org.springframework.web.socket=INFO",
+                            "logging.level.com.example.__spring_practice_notificationchatmessage.websocket=WARN")
+                    .run();
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            passed = new LoadTestRunner(config, app, port).run().passed();
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+            redis.stop();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private LoadReport run() throws Exception {
+        connectClients();
+        joinRoomsAndGroups();
+
+        ExecutorService publishers = Executors.newFixedThreadPool(config.publisherThreads());
+        for (int i = 0; i < config.publisherThreads(); i++) {
+            publishers.execute(this::publishLoop);
+        }
+
+        log.info("부하 테스트 워밍업 - {}초", config.warmup().toSeconds());
+        Thread.sleep(config.warmup().toMillis());
+
+        Map<String, long[]> gcBefore = gcSnapshot();
+        List<MemoryPoolMXBean> heapPools = heapPools();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        log.info("부하 테스트 측정 시작 - {}초", config.duration().toSeconds());
+        long start = System.nanoTime();
+        recorder.start();
+        Thread.sleep(config.duration().toMillis());
+        recorder.stop();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        publishing = false;
+        publishers.shutdown();
+        publishers.awaitTermination(10, TimeUnit.SECONDS);
+
+        LoadReport report = report(elapsed, gcBefore, heapPools);
+        closeClients();
+
+        Path path = Path.of(config.reportPath());
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        app.getBean(ObjectMapper.class).writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+        log.info(report.summary());
+        log.info("부하 테스트 리포트 저장 - {}", path.toAbsolutePath());
+        return report;
+    }
+
+    private void connectClients() throws Exception {
+        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        // batched frames and history replies are larger than the 8KB default
+        container.setDefaultMaxTextMessageBufferSize(1 << 20);
+        StandardWebSocketClient client = new StandardWebSocketClient(container);
+
+        List<CompletableFuture<WebSocketSession>> pending = new ArrayList<>();
+        for (int i = 0; i < config.clients(); i++) {
+            String endpoint = i % 2 == 0 ? "/ws/chat" : "/ws/notifications";
+            String url = "ws://localhost:" + port + endpoint + "?userId=" + USER_PREFIX + i
+                    + (config.batching() ? "&batch=true" : "");
+            pending.add(client.execute(new SimulatedClient(recorder), url));
+            // bounded number of handshakes in flight
+            if (pending.size() == 200) {
+                awaitAll(pending);
+            }
+        }
+        awaitAll(pending);
+        log.info("시뮬레이션 클라이언트 연결 완료 - {}개", sessions.size());
+    }
+
+    private void awaitAll(List<CompletableFuture<WebSocketSession>> pending) throws Exception {
+        for (CompletableFuture<WebSocketSession> future : pending) {
+            sessions.add(future.get(30, TimeUnit.SECONDS));
+        }
+        pending.clear();
+    }
+
+    private void joinRoomsAndGroups() throws Exception {
+        for (int i = 0; i < sessions.size(); i++) {
+            WebSocketSession session = sessions.get(i);
+            session.sendMessage(new TextMessage("{\"type\":\"join_room\",\"roomId\":\"" + ROOM_PREFIX + i / config.roomSize() + "\"}"));
+            session.sendMessage(new TextMessage("{\"type\":\"join_group\",\"groupId\":\"" + GROUP_PREFIX + i % config.groups() + "\"}"));
+        }
+
+        // wait until every join is applied and the Redis subscriptions for them are live
+        WebSocketHandler handler = app.getBean(WebSocketHandler.class);
+        RedisSubscriptionManager subscriptions = app.getBean(RedisSubscriptionManager.class);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (handler.getMembershipReport().get("rooms").memberships() < sessions.size()
+                || handler.getMembershipReport().get("groups").memberships() < sessions.size()
+                || subscriptions.getPendingCount() > 0) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("채팅방/그룹 참여가 시간 내에 완료되지 않았습니다");
+            }
+            Thread.sleep(50);
+        }
+        // the listener container applies subscriptions asynchronously
+        Thread.sleep(500);
+        log.info("채팅방 {}개, 그룹 {}개 참여 완료", config.rooms(), config.groups());
+    }
+
+    // Each thread publishes its share of every rate on a fixed schedule
+    private void publishLoop() {
+        int threads = config.publisherThreads();
+        long chatInterval = interval(config.chatRate(), threads);
+        long notificationInterval = interval(config.notificationRate(), threads);
+        long groupInterval = interval(config.groupRate(), threads);
+
+        ChatService chatService = app.getBean(ChatService.class);
+        NotificationService notificationService = app.getBean(NotificationService.class);
+        @SuppressWarnings("unchecked")
+        RedisTemplate<String, byte[]> pubSubTemplate = app.getBean("pubSubTemplate", RedisTemplate.class);
+        PubSubCodec pubSubCodec = app.getBean(PubSubCodec.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long now = System.nanoTime();
+        long nextChat = now + random.nextLong(chatInterval);
+        long nextNotification = now + random.nextLong(notificationInterval);
+        long nextGroup = now + random.nextLong(groupInterval);
+        while (publishing) {
+            long due = Math.min(nextChat, Math.min(nextNotification, nextGroup));
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            try {
+                if (due == nextChat) {
+                    nextChat += chatInterval;
+                    int room = random.nextInt(config.rooms());
+                    ChatMessage message = ChatMessage.textMessage(ROOM_PREFIX + room,
+                            USER_PREFIX + room * config.roomSize(), "부하테스트", "load test message");
+                    message.setMetadata(Map.of(SimulatedClient.SENT_NANOS_FIELD, System.nanoTime()));
+                    chatService.sendMessage(message);
+                    recorder.onPublished(roomMembers(room));
+                } else if (due == nextNotification) {
+                    nextNotification += notificationInterval;
+                    String userId = USER_PREFIX + random.nextInt(config.clients());
+                    notificationService.sendNotificationToUser(userId, notification(userId));
+                    recorder.onPublished(1);
+                } else {
+                    nextGroup += groupInterval;
+                    int group = random.nextInt(config.groups());
+                    NotificationMessage notification = notification(null);
+                    notification.setPublishedAt(System.currentTimeMillis());
+                    pubSubTemplate.convertAndSend(RedisChannels.group(GROUP_PREFIX + group), pubSubCodec.encode(notification));
+                    recorder.onPublished(groupMembers(group));
+                }
+            } catch (Exception e) {
+                log.warn("부하 테스트 발행 실패", e);
+            }
+        }
+    }
+
+    private LoadReport report(double elapsed, Map<String, long[]> gcBefore, List<MemoryPoolMXBean> heapPools) {
+        LatencyHistogram latency = recorder.latency();
+        Map<String, Double> latencyMillis = new LinkedHashMap<>();
+        latencyMillis.put("p50", latency.percentile(0.50) / 1e6);
+        latencyMillis.put("p99", latency.percentile(0.99) / 1e6);
+        latencyMillis.put("p999", latency.percentile(0.999) / 1e6);
+        latencyMillis.put("max", latency.max() / 1e6);
+
+        Map<String, long[]> gcAfter = gcSnapshot();
+        Map<String, Long> gcPause = new LinkedHashMap<>();
+        long gcCount = 0;
+        long gcTime = 0;
+        for (Map.Entry<String, long[]> entry : gcAfter.entrySet()) {
+            long[] before = gcBefore.getOrDefault(entry.getKey(), new long[2]);
+            gcCount += entry.getValue()[0] - before[0];
+            gcTime += entry.getValue()[1] - before[1];
+            gcPause.put(entry.getKey(), entry.getValue()[1] - before[1]);
+        }
+        long heapPeak = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            heapPeak += pool.getPeakUsage().getUsed();
+        }
+
+        OutboundStats.Snapshot outbound = app.getBean(WebSocketHandler.class).getOutboundStats();
+        DispatchExecutor.Stats dispatch = app.getBean(DispatchExecutor.class).snapshot();
+        Map<String, Long> server = new LinkedHashMap<>();
+        server.put("outboundDropped", outbound.dropped());
+        server.put("outboundEvictions", outbound.evictions());
+        server.put("sendFailures", outbound.sendFailures());
+        server.put("dispatchDropped", dispatch.dropped());
+        server.put("rateLimited", app.getBean(RateLimiter.class).snapshot().dropped());
+
+        List<String> failures = new ArrayList<>();
+        if (recorder.delivered() == 0) {
+            failures.add("수신된 메시지 없음");
+        }
+        double p99 = latencyMillis.get("p99");
+        if (config.maxP99Millis() > 0 && p99 > config.maxP99Millis()) {
+            failures.add(String.format("p99 %.2fms > %.2fms", p99, config.maxP99Millis()));
+        }
+
+        return new LoadReport(
+                config,
+                elapsed,
+                recorder.published(),
+                recorder.expected(),
+                recorder.delivered(),
+                recorder.frames(),
+                recorder.published() / elapsed,
+                recorder.delivered() / elapsed,
+                latencyMillis,
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / 1048576.0,
+                heapPeak / 1048576.0,
+                gcCount,
+                gcTime,
+                gcPause,
+                server,
+                failures
+        );
+    }
+
+    private void closeClients() {
+        for (WebSocketSession session : sessions) {
+            try {
+                session.close();
+            } catch (IOException e) {
+                log.debug("클라이언트 종료 실패 - 세션ID: {}", session.getId());
+            }
+        }
+    }
+
+    private NotificationMessage notification(String userId) {
+        return NotificationMessage.builder()
+                .id(UUID.randomUUID().toString())
+                .type("LOADTEST")
+                .userId(userId)
+                .title("부하 테스트")
+                .content("load test notification")
+                .level(NotificationMessage.NotificationLevel.INFO)
+                .timestamp(LocalDateTime.now())
+                .data(Map.of(SimulatedClient.SENT_NANOS_FIELD, System.nanoTime()))
+                .build();
+    }
+
+    private int roomMembers(int room) {
+        return Math.min(config.roomSize(), config.clients() - room * config.roomSize());
+    }
+
+    private int groupMembers(int group) {
+        return config.clients() / config.groups() + (group < config.clients() % config.groups() ? 1 : 0);
+    }
+
+    // A rate of 0 never fires
+    private static long interval(double perSecond, int threads) {
+        return perSecond <= 0 ? Long.MAX_VALUE / 4 : (long) (TimeUnit.SECONDS.toNanos(1) * threads / perSecond);
+    }
+
+    private static Map<String, long[]> gcSnapshot() {
+        Map<String, long[]> snapshot = new LinkedHashMap<>();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            snapshot.put(gc.getName(), new long[]{gc.getCollectionCount(), gc.getCollectionTime()});
+        }
+        return snapshot;
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.__spring_practice_notificationchatmessage.loadtest;
+
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+/**
+ * One simulated WebSocket client. Frames are scanned for the "sentNanos" stamps the publishers put
+ * into message metadata instead of being parsed, so the client side stays cheap next to the server
+ * it shares the box with. A batched array frame carries one stamp per message.
+ */
+final class SimulatedClient extends TextWebSocketHandler {
+
+    static final String SENT_NANOS_FIELD = "sentNanos";
+    private static final String SENT_NANOS_KEY = "\"" + SENT_NANOS_FIELD + "\":";
+
+    private final DeliveryRecorder recorder;
+
+    SimulatedClient(DeliveryRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        recorder.onFrame();
+        String payload = message.getPayload();
+        int at = payload.indexOf(SENT_NANOS_KEY);
+        while (at >= 0) {
+            int start = at + SENT_NANOS_KEY.length();
+            int end = start;
+            while (end < payload.length() && (Character.isDigit(payload.charAt(end)) || payload.charAt(end) == '-')) {
+                end++;
+            }
+            if (end > start) {
+                recorder.onDelivered(Long.parseLong(payload, start, end, 10));
+            }
+            at = payload.indexOf(SENT_NANOS_KEY, end);
+        }
+    }
+}
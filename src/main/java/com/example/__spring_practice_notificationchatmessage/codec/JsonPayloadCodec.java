@@ -0,0 +1,36 @@
+package com.example.__spring_practice_notificationchatmessage.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+// Plain JSON objects; also reads what older nodes publish through GenericJackson2JsonRedisSerializer
+@Component
+@RequiredArgsConstructor
+public class JsonPayloadCodec implements PayloadCodec {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String name() {
+        return "JSON";
+    }
+
+    // a JSON object always starts with '{', no extra marker needed
+    @Override
+    public byte marker() {
+        return '{';
+    }
+
+    @Override
+    public byte[] encode(Object payload) throws IOException {
+        return objectMapper.writeValueAsBytes(payload);
+    }
+
+    @Override
+    public <T> T decode(byte[] body, Class<T> type) throws IOException {
+        return objectMapper.readValue(body, type);
+    }
+}
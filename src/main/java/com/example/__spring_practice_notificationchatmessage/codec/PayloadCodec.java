@@ -0,0 +1,20 @@
+package com.example.__spring_practice_notificationchatmessage.codec;
+
+import java.io.IOException;
+
+/**
+ * Wire format for payloads published on Redis pub/sub.
+ * The first byte of every encoded payload is the codec's marker,
+ * so a node can decode messages from peers publishing in any registered format.
+ */
+public interface PayloadCodec {
+
+    // Name used in messaging.codec.publish-format
+    String name();
+
+    byte marker();
+
+    byte[] encode(Object payload) throws IOException;
+
+    <T> T decode(byte[] body, Class<T> type) throws IOException;
+}
@@ -0,0 +1,62 @@
+package com.example.__spring_practice_notificationchatmessage.codec;
+
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.metrics.MessagingMetrics;
+import com.example.__spring_practice_notificationchatmessage.metrics.MessagingMetrics.SerializationStage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Encodes pub/sub payloads in the configured format and decodes any registered format
+ * by looking at the first byte. Roll out a new format by deploying the decoder everywhere first,
+ * then switching messaging.codec.publish-format.
+ */
+@Component
+@Slf4j
+public class PubSubCodec {
+
+    private final PayloadCodec[] byMarker = new PayloadCodec[256];
+    private final PayloadCodec publishCodec;
+    private final MessagingMetrics metrics;
+
+    public PubSubCodec(List<PayloadCodec> codecs, MessagingProperties messagingProperties, MessagingMetrics metrics) {
+        this.metrics = metrics;
+        String publishFormat = messagingProperties.getCodec().getPublishFormat();
+        PayloadCodec selected = null;
+        for (PayloadCodec codec : codecs) {
+            byMarker[codec.marker() & 0xFF] = codec;
+            if (codec.name().equalsIgnoreCase(publishFormat)) {
+                selected = codec;
+            }
+        }
+        if (selected == null) {
+            throw new IllegalStateException("지원하지 않는 발행 포맷: " + publishFormat);
+        }
+        this.publishCodec = selected;
+        log.info("Pub/Sub 코덱 설정 완료 - 발행 포맷: {}", selected.name());
+    }
+
+    public byte[] encode(Object payload) throws IOException {
+        long start = metrics.start();
+        byte[] encoded = publishCodec.encode(payload);
+        metrics.recordSerialization(SerializationStage.PUBSUB_ENCODE, start);
+        return encoded;
+    }
+
+    public <T> T decode(byte[] body, Class<T> type) throws IOException {
+        if (body.length == 0) {
+            throw new IOException("빈 메시지 본문");
+        }
+        PayloadCodec codec = byMarker[body[0] & 0xFF];
+        if (codec == null) {
+            throw new IOException("알 수 없는 메시지 포맷 - 첫 바이트: " + (body[0] & 0xFF));
+        }
+        long start = metrics.start();
+        T decoded = codec.decode(body, type);
+        metrics.recordSerialization(SerializationStage.PUBSUB_DECODE, start);
+        return decoded;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.__spring_practice_notificationchatmessage.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileParser;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+// Binary Smile encoding: one marker byte followed by a headerless Smile document
+@Component
+public class SmilePayloadCodec implements PayloadCodec {
+
+    private static final byte MARKER = 0x01;
+
+    private final ObjectMapper smileMapper;
+
+    public SmilePayloadCodec(ObjectMapper objectMapper) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .disable(SmileGenerator.Feature.WRITE_HEADER)
+                .disable(SmileParser.Feature.REQUIRE_HEADER)
+                .build();
+        // same modules and features as the JSON mapper
+        this.smileMapper = objectMapper.copyWith(smileFactory);
+    }
+
+    @Override
+    public String name() {
+        return "SMILE";
+    }
+
+    @Override
+    public byte marker() {
+        return MARKER;
+    }
+
+    @Override
+    public byte[] encode(Object payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        out.write(MARKER);
+        smileMapper.writeValue(out, payload);
+        return out.toByteArray();
+    }
+
+    @Override
+    public <T> T decode(byte[] body, Class<T> type) throws IOException {
+        return smileMapper.readValue(body, 1, body.length - 1, type);
+    }
+}
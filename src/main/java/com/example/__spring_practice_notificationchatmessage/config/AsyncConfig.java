@@ -0,0 +1,151 @@
+package com.example.__spring_practice_notificationchatmessage.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableScheduling
+@Slf4j
+public class AsyncConfig {
+
+    // spring.threads.virtual.enabled=true runs every session writer on its own virtual thread,
+    // so a send blocked on a slow socket no longer holds one of writer-threads platform threads
+    @Bean
+    public AsyncTaskExecutor outboundExecutor(MessagingProperties properties, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("ws-outbound-");
+            executor.setVirtualThreads(true);
+
+            log.info("WebSocket Outbound Executor 설정 완료 - 가상 스레드");
+            return executor;
+        }
+        int threads = properties.getOutbound().getWriterThreads();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("ws-outbound-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+
+        log.info("WebSocket Outbound Executor 설정 완료 - 스레드: {}개", threads);
+        return executor;
+    }
+
+    // Evicted sessions are closed here, not on outboundExecutor: the sweep evicts exactly when every writer is stuck
+    @Bean
+    public AsyncTaskExecutor sessionCloseExecutor(MessagingProperties properties, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("ws-close-");
+            executor.setVirtualThreads(true);
+
+            log.info("WebSocket Close Executor 설정 완료 - 가상 스레드");
+            return executor;
+        }
+        int threads = properties.getOutbound().getCloseThreads();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("ws-close-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+
+        log.info("WebSocket Close Executor 설정 완료 - 스레드: {}개", threads);
+        return executor;
+    }
+
+    // Room writers of ChatService; each run publishes one room's queued messages, so rooms never wait on each other's Redis I/O
+    @Bean
+    public AsyncTaskExecutor chatPublishExecutor(MessagingProperties properties, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("chat-publish-");
+            executor.setVirtualThreads(true);
+
+            log.info("Chat Publish Executor 설정 완료 - 가상 스레드");
+            return executor;
+        }
+        int threads = properties.getChatStream().getPublishThreads();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("chat-publish-");
+
+        log.info("Chat Publish Executor 설정 완료 - 스레드: {}개", threads);
+        return executor;
+    }
+
+    // Callbacks that run once a flush has subscribed a channel, e.g. a reconnecting user's inbox drain
+    @Bean
+    public AsyncTaskExecutor subscriptionCallbackExecutor(MessagingProperties properties, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("redis-subscribed-");
+            executor.setVirtualThreads(true);
+
+            log.info("Subscription Callback Executor 설정 완료 - 가상 스레드");
+            return executor;
+        }
+        int threads = properties.getSubscription().getCallbackThreads();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("redis-subscribed-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+
+        log.info("Subscription Callback Executor 설정 완료 - 스레드: {}개", threads);
+        return executor;
+    }
+
+    // One thread for the Redis listener container: messages reach DispatchExecutor in arrival order,
+    // and a full BLOCK partition waits here instead of on a Lettuce I/O thread
+    @Bean
+    public ThreadPoolTaskExecutor redisListenerExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("redis-listener-");
+
+        log.info("Redis Listener Executor 설정 완료 - 스레드: 1개");
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor broadcastExecutor(MessagingProperties properties) {
+        int threads = properties.getBroadcast().getParallelism();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 4);
+        // a full queue makes the broadcasting thread send the shard itself
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("ws-broadcast-");
+
+        log.info("WebSocket Broadcast Executor 설정 완료 - 스레드: {}개", threads);
+        return executor;
+    }
+
+    // Campaigns beyond the worker count wait in the queue
+    @Bean
+    public ThreadPoolTaskExecutor campaignExecutor(MessagingProperties properties) {
+        int threads = properties.getCampaign().getWorkers();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("notification-campaign-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+
+        log.info("Campaign Executor 설정 완료 - 스레드: {}개", threads);
+        return executor;
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.__spring_practice_notificationchatmessage.config;
+
+import com.example.__spring_practice_notificationchatmessage.listener.DispatchOverflowPolicy;
+import com.example.__spring_practice_notificationchatmessage.model.NotificationMessage.NotificationLevel;
+import com.example.__spring_practice_notificationchatmessage.websocket.OverflowPolicy;
+import com.example.__spring_practice_notificationchatmessage.websocket.RateLimitPolicy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "messaging")
+public class MessagingProperties {
+
+    private Outbound outbound = new Outbound();
+    private Broadcast broadcast = new Broadcast();
+    private Subscription subscription = new Subscription();
+    private Dispatch dispatch = new Dispatch();
+    private Codec codec = new Codec();
+    private History history = new History();
+    private HistoryCache historyCache = new HistoryCache();
+    private ChatStream chatStream = new ChatStream();
+    private Batching batching = new Batching();
+    private Presence presence = new Presence();
+    private Inbound inbound = new Inbound();
+    private Metrics metrics = new Metrics();
+    private RateLimit rateLimit = new RateLimit();
+    private Coalescing coalescing = new Coalescing();
+    private Inbox inbox = new Inbox();
+    private Campaign campaign = new Campaign();
+    private Sequence sequence = new Sequence();
+
+    // Per-session outbound queue limits
+    @Data
+    public static class Outbound {
+        private int writerThreads = Runtime.getRuntime().availableProcessors() * 2;
+        // close evicted sessions; a close can wait behind a blocked send, so it never takes a writer thread
+        private int closeThreads = 2;
+        private int maxQueuedFrames = 1000;
+        private long maxQueuedBytes = 1024 * 1024;
+        private Duration sendTimeout = Duration.ofSeconds(10);
+        // sessions are swept for send timeouts at this interval, read by @Scheduled in WebSocketHandler
+        private long timeoutCheckIntervalMs = 1000;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+        // frames one writer run sends before yielding the thread to other sessions
+        private int drainBatchSize = 64;
+        // higher-lane frames sent in a row before a waiting lower lane gets a turn
+        private int starvationLimit = 8;
+    }
+
+    // Batched SUBSCRIBE/UNSUBSCRIBE; the flush interval is read by @Scheduled in RedisSubscriptionManager
+    @Data
+    public static class Subscription {
+        private long flushIntervalMs = 50;
+        // run the after-subscribe callbacks (inbox drains), so their Redis I/O never delays the next flush
+        private int callbackThreads = 2;
+    }
+
+    // Sharded broadcast to every local session
+    @Data
+    public static class Broadcast {
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int shardSize = 1000;
+    }
+
+    // Partitioned dispatch of inbound Redis messages
+    @Data
+    public static class Dispatch {
+        private int partitions = Runtime.getRuntime().availableProcessors();
+        private int queueCapacity = 10000;
+        private DispatchOverflowPolicy overflowPolicy = DispatchOverflowPolicy.BLOCK;
+        private Duration blockTimeout = Duration.ofSeconds(1);
+        // higher-lane tasks run in a row before a waiting lower lane gets a turn
+        private int starvationLimit = 8;
+    }
+
+    // Wire format of Redis pub/sub payloads
+    @Data
+    public static class Codec {
+        // JSON | SMILE
+        private String publishFormat = "JSON";
+    }
+
+    // Write-behind notification history
+    @Data
+    public static class History {
+        private int bufferCapacity = 50000;
+        private int batchSize = 500;
+        private Duration flushInterval = Duration.ofMillis(100);
+        private int maxEntries = 100;
+        private Duration ttl = Duration.ofDays(30);
+    }
+
+    // Local near-cache for history reads
+    @Data
+    public static class HistoryCache {
+        private long maxUsers = 10000;
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    // Capped per-room chat streams and join_room catch-up
+    @Data
+    public static class ChatStream {
+        // XADD ... MAXLEN ~ maxLength
+        private long maxLength = 1000;
+        private int replayBatchSize = 100;
+        // room writers, each publishing one room's queued messages in order
+        private int publishThreads = Runtime.getRuntime().availableProcessors();
+        // messages one writer run sends in one XADD pipeline and one PUBLISH pipeline
+        private int publishBatchSize = 100;
+    }
+
+    // Opt-in micro-batching of room messages; clients ask for it with ?batch=true on connect
+    @Data
+    public static class Batching {
+        private boolean enabled = true;
+        private Duration flushWindow = Duration.ofMillis(5);
+        private int maxBatchSize = 50;
+        private int flushThreads = 1;
+    }
+
+    // Cluster-wide presence; the flush and heartbeat intervals are read by @Scheduled in PresenceService
+    @Data
+    public static class Presence {
+        private boolean enabled = true;
+        private long flushIntervalMs = 1000;
+        private long heartbeatIntervalMs = 5000;
+        // a node that has not been heard from for this long is dropped from the view
+        private Duration nodeTimeout = Duration.ofSeconds(15);
+    }
+
+    // Inbound client frames
+    @Data
+    public static class Inbound {
+        // longer frames are rejected before parsing
+        private int maxFrameLength = 4096;
+    }
+
+    // Micrometer meters; when disabled nothing is registered and record calls return immediately
+    @Data
+    public static class Metrics {
+        private boolean enabled = true;
+        // interval of the aggregated summary log line, read by @Scheduled in MessagingMetrics
+        private long logIntervalMs = 60000;
+    }
+
+    // Token buckets per user on inbound client frames and per room on outbound room fan-out
+    @Data
+    public static class RateLimit {
+        private boolean enabled = true;
+        private Limit inbound = new Limit(20, 40, RateLimitPolicy.DROP, Duration.ofMillis(100));
+        private Limit room = new Limit(200, 400, RateLimitPolicy.DROP, Duration.ofMillis(100));
+        // idle buckets are dropped at this interval, read by @Scheduled in RateLimiter
+        private long cleanupIntervalMs = 60000;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private double permitsPerSecond;
+        private int burst;
+        // DROP | DELAY | DISCONNECT (inbound only)
+        private RateLimitPolicy policy;
+        // longest DELAY waits for a token before the frame is dropped
+        private Duration maxDelay;
+    }
+
+    // Per-user digests of same-type notification bursts
+    @Data
+    public static class Coalescing {
+        private boolean enabled = true;
+        private Duration window = Duration.ofSeconds(2);
+        // newest notifications carried in a digest; the count covers all of them
+        private int maxItems = 5;
+        // published at once, never held
+        private Set<NotificationLevel> bypassLevels = EnumSet.of(NotificationLevel.ERROR, NotificationLevel.WARNING);
+    }
+
+    // Per-user stream of notifications that found no live session, drained on the next connect
+    @Data
+    public static class Inbox {
+        private boolean enabled = true;
+        // XADD ... MAXLEN ~ maxEntries; also the most one drain reads
+        private int maxEntries = 200;
+        private Duration ttl = Duration.ofDays(7);
+    }
+
+    // Per-room chat sequence numbers, leased from Redis in blocks
+    @Data
+    public static class Sequence {
+        private boolean enabled = true;
+        // numbers reserved per INCRBY round trip
+        private int blockSize = 100;
+        // an unused lease is dropped after this long; the rest of its block is never handed out
+        private Duration leaseIdle = Duration.ofMinutes(10);
+        private int maxRooms = 100_000;
+        // widest fetch_gap range served in one reply
+        private int maxGap = 500;
+        // fetch_gap scans from this long before afterId, since concurrent publishes may reach the stream out of order
+        private Duration gapScanSkew = Duration.ofSeconds(1);
+    }
+
+    // Bulk notification sends; each campaign runs on one campaign worker thread
+    @Data
+    public static class Campaign {
+        private int workers = 1;
+        // recipients per pipeline
+        private int batchSize = 1000;
+        // per campaign; keeps the shared Redis connections free for interactive traffic
+        private int maxPublishesPerSecond = 20000;
+        // recipients who are offline get the notification in their inbox
+        private boolean storeOffline = true;
+        // finished campaigns kept for progress queries
+        private int retained = 100;
+    }
+}
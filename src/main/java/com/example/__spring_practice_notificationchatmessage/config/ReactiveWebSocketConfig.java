@@ -0,0 +1,58 @@
+package com.example.__spring_practice_notificationchatmessage.config;
+
+import com.example.__spring_practice_notificationchatmessage.websocket.ReactiveWebSocketEndpoint;
+import com.example.__spring_practice_notificationchatmessage.websocket.WebSocketHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.reactive.socket.server.WebSocketService;
+import org.springframework.web.reactive.socket.server.support.HandshakeWebSocketService;
+import org.springframework.web.reactive.socket.server.upgrade.ReactorNettyRequestUpgradeStrategy;
+
+import java.util.Map;
+
+/**
+ * Reactive transport, active with the "reactive" profile (spring.main.web-application-type=reactive).
+ * Serves the same endpoints as WebSocketConfig on Reactor Netty. Tomcat stays on the classpath for
+ * the servlet mode, so the Netty server and upgrade strategy are declared explicitly instead of detected.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveWebSocketConfig implements WebFluxConfigurer {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public HandlerMapping webSocketHandlerMapping(WebSocketHandler webSocketHandler) {
+        ReactiveWebSocketEndpoint endpoint = new ReactiveWebSocketEndpoint(webSocketHandler);
+        // ordered ahead of the annotated controllers
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping(Map.of(
+                "/ws/notifications", endpoint,
+                "/ws/chat", endpoint
+        ), -1);
+
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.addAllowedOriginPattern("*");
+        mapping.setCorsConfigurations(Map.of("/ws/**", cors));
+
+        log.info("WebSocket 엔드포인트 등록 완료 (Reactor Netty)");
+        log.info("- /ws/notifications (알림)");
+        log.info("- /ws/chat (채팅)");
+        return mapping;
+    }
+
+    @Override
+    public WebSocketService getWebSocketService() {
+        return new HandshakeWebSocketService(new ReactorNettyRequestUpgradeStrategy());
+    }
+}
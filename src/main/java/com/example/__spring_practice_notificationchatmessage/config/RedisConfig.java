@@ -1,20 +1,26 @@
 package com.example.__spring_practice_notificationchatmessage.config;
 
+import com.example.__spring_practice_notificationchatmessage.listener.RedisChannels;
 import com.example.__spring_practice_notificationchatmessage.listener.RedisMessageListener;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.PatternTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.concurrent.Executor;
+
 @Configuration
 @Slf4j
 public class RedisConfig {
@@ -52,24 +58,45 @@ public class RedisConfig {
         return template;
     }
 
+    // Publishes payloads already encoded by PubSubCodec as-is
+    @Bean
+    public RedisTemplate<String, byte[]> pubSubTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+
+        log.info("Pub/Sub RedisTemplate 설정 완료");
+        return template;
+    }
+
     @Bean
     public RedisMessageListenerContainer redisMessageListenerContainer(
             RedisConnectionFactory connectionFactory,
-            RedisMessageListener redisMessageListener
+            RedisMessageListener redisMessageListener,
+            @Qualifier("redisListenerExecutor") Executor listenerExecutor
     ) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
+        // the default executor starts a thread per message, so two messages for one key could overtake each other
+        // before reaching their DispatchExecutor partition. Also in virtual mode: onMessage never blocks on I/O,
+        // and virtual threads only run behind the partitions and in the session writers
+        container.setTaskExecutor(listenerExecutor);
 
-        container.addMessageListener(redisMessageListener, new PatternTopic("notification:user:*"));
         container.addMessageListener(redisMessageListener, new PatternTopic("notification:system:*"));
-        container.addMessageListener(redisMessageListener, new PatternTopic("notification:group:*"));
-
-        container.addMessageListener(redisMessageListener, new PatternTopic("chat:*"));
 
         container.addMessageListener(redisMessageListener, new PatternTopic("chatroom:created"));
 
+        container.addMessageListener(redisMessageListener, new ChannelTopic(RedisChannels.HISTORY_CHANGED));
+        container.addMessageListener(redisMessageListener, new ChannelTopic(RedisChannels.PRESENCE));
+
+        // notification:user:{userId}, notification:group:{groupId} and chat:{roomId} are subscribed
+        // per channel by RedisSubscriptionManager while this node has local sessions for them
+
         log.info("Redis Message Listener Container 설정 완료");
-        log.info("구독 채널: notification:user:*, notification:system, notification:group:*, chat:*, chatroom:created");
+        log.info("구독 채널: notification:system:*, chatroom:created, {}, {} (+ 로컬 세션 기반 user/group/chat 채널)",
+                RedisChannels.HISTORY_CHANGED, RedisChannels.PRESENCE);
 
         return container;
     }
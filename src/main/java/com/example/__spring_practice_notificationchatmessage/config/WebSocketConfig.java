@@ -3,12 +3,15 @@ package com.example.__spring_practice_notificationchatmessage.config;
 import com.example.__spring_practice_notificationchatmessage.websocket.WebSocketHandler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
 
+// Servlet (Tomcat) transport, the default; the "reactive" profile uses ReactiveWebSocketConfig instead
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSocket
 @RequiredArgsConstructor
 @Slf4j
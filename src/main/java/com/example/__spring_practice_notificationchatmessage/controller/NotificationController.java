@@ -0,0 +1,80 @@
+package com.example.__spring_practice_notificationchatmessage.controller;
+
+import com.example.__spring_practice_notificationchatmessage.model.CampaignRequest;
+import com.example.__spring_practice_notificationchatmessage.model.NotificationMessage;
+import com.example.__spring_practice_notificationchatmessage.service.Campaign;
+import com.example.__spring_practice_notificationchatmessage.service.CampaignService;
+import com.example.__spring_practice_notificationchatmessage.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationService notificationService;
+    private final CampaignService campaignService;
+
+    // ex: GET /api/notifications/user1/history?page=0&size=20
+    @GetMapping("/{userId}/history")
+    public List<NotificationMessage> getHistory(
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return notificationService.getNotificationHistory(userId, page, size);
+    }
+
+    // ex: POST /api/notifications/campaigns {"userIds": ["user1", ...], "notification": {...}}
+    //     POST /api/notifications/campaigns {"groupId": "admin", "notification": {...}}
+    @PostMapping("/campaigns")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Campaign.Progress startCampaign(@RequestBody CampaignRequest request) {
+        boolean toUsers = request.getUserIds() != null && !request.getUserIds().isEmpty();
+        boolean toGroup = request.getGroupId() != null && !request.getGroupId().isBlank();
+        if (request.getNotification() == null || toUsers == toGroup) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "notification과 userIds 또는 groupId 중 하나가 필요합니다");
+        }
+        Campaign campaign = toGroup
+                ? campaignService.sendToGroup(request.getGroupId(), request.getNotification())
+                : campaignService.sendToUsers(request.getUserIds(), request.getNotification());
+        return campaign.progress();
+    }
+
+    // ex: GET /api/notifications/campaigns/{campaignId}
+    @GetMapping("/campaigns/{campaignId}")
+    public Campaign.Progress getCampaign(@PathVariable String campaignId) {
+        return findCampaign(campaignId).progress();
+    }
+
+    // ex: DELETE /api/notifications/campaigns/{campaignId}
+    @DeleteMapping("/campaigns/{campaignId}")
+    public Campaign.Progress cancelCampaign(@PathVariable String campaignId) {
+        Campaign campaign = findCampaign(campaignId);
+        if (!campaign.cancel()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 종료된 캠페인입니다");
+        }
+        return campaign.progress();
+    }
+
+    private Campaign findCampaign(String campaignId) {
+        Campaign campaign = campaignService.find(campaignId);
+        if (campaign == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "캠페인을 찾을 수 없습니다: " + campaignId);
+        }
+        return campaign;
+    }
+}
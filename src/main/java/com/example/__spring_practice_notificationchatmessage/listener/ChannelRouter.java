@@ -0,0 +1,49 @@
+package com.example.__spring_practice_notificationchatmessage.listener;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Resolves a raw channel name to its ChannelType and key by comparing bytes
+ * against the precomputed prefixes, so only the id suffix is ever decoded.
+ */
+@Component
+public class ChannelRouter {
+
+    private static final ChannelType[] TYPES = ChannelType.values();
+
+    public record Route(ChannelType type, String key) {
+    }
+
+    // Returns null for channels this node does not handle
+    public Route route(byte[] channel) {
+        for (ChannelType type : TYPES) {
+            byte[] prefix = type.prefix();
+            if (!startsWith(channel, prefix)) {
+                continue;
+            }
+            if (!type.isKeyed()) {
+                return new Route(type, type.name());
+            }
+            if (channel.length == prefix.length) {
+                return null;
+            }
+            String key = new String(channel, prefix.length, channel.length - prefix.length, StandardCharsets.UTF_8);
+            return new Route(type, key);
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] channel, byte[] prefix) {
+        if (channel.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (channel[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
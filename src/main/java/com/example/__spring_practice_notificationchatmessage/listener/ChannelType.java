@@ -0,0 +1,40 @@
+package com.example.__spring_practice_notificationchatmessage.listener;
+
+import com.example.__spring_practice_notificationchatmessage.model.DeliveryLane;
+
+import java.nio.charset.StandardCharsets;
+
+// Kinds of Redis channels this node listens on, with the prefix that identifies each one
+public enum ChannelType {
+    USER_NOTIFICATION(RedisChannels.USER_NOTIFICATION_PREFIX, true, DeliveryLane.HIGH),
+    SYSTEM_NOTIFICATION(RedisChannels.SYSTEM_NOTIFICATION_PREFIX, false, DeliveryLane.HIGH),
+    GROUP_NOTIFICATION(RedisChannels.GROUP_NOTIFICATION_PREFIX, true, DeliveryLane.HIGH),
+    CHAT(RedisChannels.CHAT_PREFIX, true, DeliveryLane.LOW),
+    ROOM_CREATED(RedisChannels.ROOM_CREATED, false, DeliveryLane.NORMAL),
+    HISTORY_CHANGED(RedisChannels.HISTORY_CHANGED, false, DeliveryLane.NORMAL),
+    PRESENCE(RedisChannels.PRESENCE, false, DeliveryLane.NORMAL);
+
+    private final byte[] prefix;
+    // whether the rest of the channel name is a user/group/room id
+    private final boolean keyed;
+    // dispatch lane; fixed per channel type, so messages with the same key are never reordered
+    private final DeliveryLane lane;
+
+    ChannelType(String prefix, boolean keyed, DeliveryLane lane) {
+        this.prefix = prefix.getBytes(StandardCharsets.UTF_8);
+        this.keyed = keyed;
+        this.lane = lane;
+    }
+
+    public DeliveryLane lane() {
+        return lane;
+    }
+
+    byte[] prefix() {
+        return prefix;
+    }
+
+    boolean isKeyed() {
+        return keyed;
+    }
+}
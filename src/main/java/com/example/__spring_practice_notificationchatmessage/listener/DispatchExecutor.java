@@ -0,0 +1,222 @@
+package com.example.__spring_practice_notificationchatmessage.listener;
+
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.model.DeliveryLane;
+import com.example.__spring_practice_notificationchatmessage.websocket.LaneLatency;
+import com.example.__spring_practice_notificationchatmessage.websocket.LaneQueue;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands Redis messages to a fixed set of single-threaded partitions keyed by room/user/group id.
+ * Messages with the same key always run on the same partition, in arrival order,
+ * while different keys spread across all partitions.
+ * Within a partition, tasks wait in per-lane queues so notifications are not stuck behind chat bursts;
+ * the lane comes from the channel type, which keeps same-key messages in one lane and in order.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DispatchExecutor {
+
+    private final MessagingProperties messagingProperties;
+
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder totalLagNanos = new LongAdder();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+    private final LaneLatency laneLag = new LaneLatency();
+
+    private Partition[] partitions;
+
+    @PostConstruct
+    public void start() {
+        MessagingProperties.Dispatch settings = messagingProperties.getDispatch();
+        partitions = new Partition[settings.getPartitions()];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(i, settings.getQueueCapacity(), settings.getStarvationLimit());
+            partitions[i].thread.start();
+        }
+        log.info("Redis 메시지 디스패처 시작 - 파티션: {}개, 큐 용량: {}", partitions.length, settings.getQueueCapacity());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        for (Partition partition : partitions) {
+            partition.running = false;
+            partition.thread.interrupt();
+        }
+        for (Partition partition : partitions) {
+            partition.thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    // Returns false when the message was dropped because its partition is full
+    public boolean dispatch(String key, DeliveryLane lane, Runnable task) {
+        Partition partition = partitions[(key.hashCode() & Integer.MAX_VALUE) % partitions.length];
+        Task queued = new Task(task, lane, System.nanoTime());
+
+        boolean accepted;
+        MessagingProperties.Dispatch settings = messagingProperties.getDispatch();
+        if (settings.getOverflowPolicy() == DispatchOverflowPolicy.BLOCK) {
+            try {
+                accepted = partition.offer(queued, settings.getBlockTimeout().toNanos());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+        } else {
+            accepted = partition.offer(queued);
+        }
+
+        if (!accepted) {
+            dropped.increment();
+            log.warn("디스패치 큐 초과로 메시지 폐기 - 파티션: {}, 키: {}", partition.index, key);
+        }
+        return accepted;
+    }
+
+    public Stats snapshot() {
+        int[] depths = new int[partitions.length];
+        for (int i = 0; i < partitions.length; i++) {
+            depths[i] = partitions[i].size();
+        }
+        long count = dispatched.sum();
+        long avgLag = count == 0 ? 0 : totalLagNanos.sum() / count;
+        return new Stats(depths, count, dropped.sum(), avgLag, maxLagNanos.get(), laneLag.snapshot());
+    }
+
+    public record Stats(int[] queueDepths, long dispatched, long dropped, long avgLagNanos, long maxLagNanos,
+                        Map<DeliveryLane, LaneLatency.Summary> lanes) {
+
+        public int totalQueueDepth() {
+            int total = 0;
+            for (int depth : queueDepths) {
+                total += depth;
+            }
+            return total;
+        }
+    }
+
+    private record Task(Runnable runnable, DeliveryLane lane, long enqueuedAt) {
+    }
+
+    // A bounded LaneQueue behind one lock, consumed by a single thread
+    private class Partition implements Runnable {
+        private final int index;
+        private final int capacity;
+        private final LaneQueue<Task> queue;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        Partition(int index, int capacity, int starvationLimit) {
+            this.index = index;
+            this.capacity = capacity;
+            this.queue = new LaneQueue<>(starvationLimit);
+            this.thread = new Thread(this, "redis-dispatch-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        boolean offer(Task task) {
+            lock.lock();
+            try {
+                if (queue.size() >= capacity) {
+                    return false;
+                }
+                enqueue(task);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean offer(Task task, long timeoutNanos) throws InterruptedException {
+            lock.lockInterruptibly();
+            try {
+                long remaining = timeoutNanos;
+                while (queue.size() >= capacity) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = notFull.awaitNanos(remaining);
+                }
+                enqueue(task);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return queue.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void enqueue(Task task) {
+            queue.addLast(task.lane(), task);
+            notEmpty.signal();
+        }
+
+        private Task poll(long timeoutNanos) throws InterruptedException {
+            lock.lockInterruptibly();
+            try {
+                long remaining = timeoutNanos;
+                while (queue.isEmpty()) {
+                    if (remaining <= 0) {
+                        return null;
+                    }
+                    remaining = notEmpty.awaitNanos(remaining);
+                }
+                Task task = queue.pollFirst();
+                notFull.signal();
+                return task;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (running || size() > 0) {
+                Task task;
+                try {
+                    task = poll(TimeUnit.MILLISECONDS.toNanos(100));
+                } catch (InterruptedException e) {
+                    // stop() interrupts; keep draining what is left
+                    continue;
+                }
+                if (task == null) {
+                    continue;
+                }
+
+                long lag = System.nanoTime() - task.enqueuedAt();
+                totalLagNanos.add(lag);
+                maxLagNanos.accumulateAndGet(lag, Math::max);
+                laneLag.record(task.lane(), lag);
+                dispatched.increment();
+                try {
+                    task.runnable().run();
+                } catch (Exception e) {
+                    log.error("디스패치 작업 실패 - 파티션: {}", index, e);
+                }
+            }
+        }
+    }
+}
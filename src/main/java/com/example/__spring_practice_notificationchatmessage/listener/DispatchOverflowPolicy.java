@@ -0,0 +1,9 @@
+package com.example.__spring_practice_notificationchatmessage.listener;
+
+// What the dispatch stage does when a partition queue is full
+public enum DispatchOverflowPolicy {
+    // wait up to the block timeout on the listener thread, then drop
+    BLOCK,
+    // drop the message immediately
+    DROP
+}
@@ -0,0 +1,30 @@
+package com.example.__spring_practice_notificationchatmessage.listener;
+
+// Redis pub/sub channel names shared by publishers and subscribers
+public final class RedisChannels {
+
+    public static final String USER_NOTIFICATION_PREFIX = "notification:user:";
+    public static final String SYSTEM_NOTIFICATION_PREFIX = "notification:system";
+    public static final String GROUP_NOTIFICATION_PREFIX = "notification:group:";
+    public static final String CHAT_PREFIX = "chat:";
+    public static final String ROOM_CREATED = "chatroom:created";
+    // user ids whose notification history changed, published once per history flush
+    public static final String HISTORY_CHANGED = "notification:history:changed";
+    // presence deltas, heartbeats and leave events from every node
+    public static final String PRESENCE = "presence:events";
+
+    private RedisChannels() {
+    }
+
+    public static String user(String userId) {
+        return USER_NOTIFICATION_PREFIX + userId;
+    }
+
+    public static String group(String groupId) {
+        return GROUP_NOTIFICATION_PREFIX + groupId;
+    }
+
+    public static String chat(String roomId) {
+        return CHAT_PREFIX + roomId;
+    }
+}
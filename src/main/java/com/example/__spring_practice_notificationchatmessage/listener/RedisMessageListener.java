@@ -1,15 +1,21 @@
 package com.example.__spring_practice_notificationchatmessage.listener;
 
+import com.example.__spring_practice_notificationchatmessage.codec.PubSubCodec;
+import com.example.__spring_practice_notificationchatmessage.metrics.MessagingMetrics;
 import com.example.__spring_practice_notificationchatmessage.model.ChatMessage;
 import com.example.__spring_practice_notificationchatmessage.model.NotificationMessage;
+import com.example.__spring_practice_notificationchatmessage.service.NotificationHistoryCache;
+import com.example.__spring_practice_notificationchatmessage.service.NotificationInbox;
+import com.example.__spring_practice_notificationchatmessage.service.PresenceService;
 import com.example.__spring_practice_notificationchatmessage.websocket.WebSocketHandler;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -18,99 +24,145 @@ import java.util.Map;
 public class RedisMessageListener implements MessageListener {
     // Will be changed into Custom WebSocketHandler
     private final WebSocketHandler webSocketHandler;
-    private final ObjectMapper objectMapper;
-
+    private final PubSubCodec pubSubCodec;
+    private final ChannelRouter channelRouter;
+    private final DispatchExecutor dispatchExecutor;
+    private final NotificationHistoryCache historyCache;
+    private final PresenceService presenceService;
+    private final NotificationInbox inbox;
+    private final MessagingMetrics metrics;
+
+    // Runs on the listener container thread: route and hand off, nothing else
     @Override
     public void onMessage(Message message, byte[] pattern) {
         try {
-            String channel = new String(message.getChannel());
-            String messageBody = new String(message.getBody());
-
-            log.debug("Redis 메시지 수신 - 채널: {}, 내용: {}", channel, messageBody);
-
-            if (channel.startsWith("notification:user:")) {
-                // User Notification
-                handleUserNotification(channel, messageBody);
-            } else if (channel.startsWith("notification:system")) {
-                // System Notification
-                handleSystemNotification(messageBody);
-            } else if (channel.startsWith("notification:group")) {
-                // Group Notification
-                handleGroupNotification(channel, messageBody);
-            } else if (channel.startsWith("chat:")) {
-                // Chat Notification
-                handleChatMessage(channel, messageBody);
-            } else if (channel.equals("chatroom:created")) {
-                // Generated Chat Room Notification
-                handleRoomCreated(messageBody);
+            ChannelRouter.Route route = channelRouter.route(message.getChannel());
+            if (route == null) {
+                return;
+            }
+
+            metrics.recordInbound(route.type());
+            byte[] body = message.getBody();
+            if (log.isDebugEnabled()) {
+                log.debug("Redis 메시지 수신 - 채널: {}, 내용: {}",
+                        new String(message.getChannel(), StandardCharsets.UTF_8), new String(body, StandardCharsets.UTF_8));
             }
+
+            dispatchExecutor.dispatch(route.key(), route.type().lane(), () -> handle(route, body));
         } catch (Exception e) {
             log.error("메시지 처리 중 오류 발생", e);
         }
     }
 
-    private void handleUserNotification(String channel, String messageBody) {
-        try {
-            String userId = channel.substring("notification:user:".length());
+    private void handle(ChannelRouter.Route route, byte[] body) {
+        switch (route.type()) {
+            // User Notification
+            case USER_NOTIFICATION -> handleUserNotification(route.key(), body);
+            // System Notification
+            case SYSTEM_NOTIFICATION -> handleSystemNotification(body);
+            // Group Notification
+            case GROUP_NOTIFICATION -> handleGroupNotification(route.key(), body);
+            // Chat Notification
+            case CHAT -> handleChatMessage(body);
+            // Generated Chat Room Notification
+            case ROOM_CREATED -> handleRoomCreated(body);
+            // Notification history changed on some node
+            case HISTORY_CHANGED -> handleHistoryChanged(body);
+            // Presence delta / heartbeat from another node
+            case PRESENCE -> handlePresence(body);
+        }
+    }
 
-            NotificationMessage notification = objectMapper.readValue(messageBody, NotificationMessage.class);
+    private void handleUserNotification(String userId, byte[] body) {
+        try {
+            NotificationMessage notification = pubSubCodec.decode(body, NotificationMessage.class);
 
-            webSocketHandler.sendToUser(userId, notification);
+            if (!webSocketHandler.sendToUser(userId, notification)) {
+                // the last local session closed after the publish. Presence may still list a session elsewhere
+                // that is already gone, so keep it; a user who is online elsewhere gets it again on the next connect
+                inbox.store(userId, body);
+                return;
+            }
+            metrics.recordDelivery(ChannelType.USER_NOTIFICATION, notification.getPublishedAt());
 
-            log.info("시스템 알림 처리 완료 - 사용자: {}, 타입: {}", userId, notification.getType());
+            log.debug("사용자 알림 처리 완료 - 사용자: {}, 타입: {}", userId, notification.getType());
         } catch (Exception e) {
             log.error("사용자 알림 처리 실패", e);
         }
     }
 
-    private void handleSystemNotification(String messageBody) {
+    private void handleSystemNotification(byte[] body) {
         try {
-            NotificationMessage notification = objectMapper.readValue(messageBody, NotificationMessage.class);
+            NotificationMessage notification = pubSubCodec.decode(body, NotificationMessage.class);
 
             webSocketHandler.broadcast(notification);
+            metrics.recordDelivery(ChannelType.SYSTEM_NOTIFICATION, notification.getPublishedAt());
 
-            log.info("시스템 알림 처리 완료 - 타입: {}", notification.getType());
+            log.debug("시스템 알림 처리 완료 - 타입: {}", notification.getType());
         } catch (Exception e) {
             log.error("시스템 알림 처리 실패", e);
         }
     }
 
-    private void handleGroupNotification(String channel, String messageBody) {
+    private void handleGroupNotification(String groupId, byte[] body) {
         try {
-            String groupId = channel.substring("notification:group".length());
-
-            NotificationMessage notification = objectMapper.readValue(messageBody, NotificationMessage.class);
+            NotificationMessage notification = pubSubCodec.decode(body, NotificationMessage.class);
 
             webSocketHandler.sendToGroup(groupId, notification);
+            metrics.recordDelivery(ChannelType.GROUP_NOTIFICATION, notification.getPublishedAt());
 
-            log.info("그룹 알림 처리 완료 - 그룹: {}, 타입: {}", groupId, notification.getType());
+            log.debug("그룹 알림 처리 완료 - 그룹: {}, 타입: {}", groupId, notification.getType());
         } catch (Exception e) {
             log.error("그룹 알림 처리 실패", e);
         }
     }
 
-    private void handleChatMessage(String channel, String messageBody) {
+    private void handleChatMessage(byte[] body) {
         try {
-            ChatMessage chatMessage = objectMapper.readValue(messageBody, ChatMessage.class);
+            ChatMessage chatMessage = pubSubCodec.decode(body, ChatMessage.class);
 
             webSocketHandler.sendToRoom(chatMessage.getRoomId(), chatMessage);
+            metrics.recordDelivery(ChannelType.CHAT, chatMessage.getPublishedAt());
 
-            log.info("채팅 메시지 처리 완료 - 방: {}", chatMessage.getRoomId());
+            log.debug("채팅 메시지 처리 완료 - 방: {}", chatMessage.getRoomId());
         } catch (Exception e) {
-            log.error("채팅 메시지 처리 실패, e");
+            log.error("채팅 메시지 처리 실패", e);
         }
     }
 
-    private void handleRoomCreated(String messageBody) {
+    private void handleRoomCreated(byte[] body) {
         try {
             @SuppressWarnings("unchecked")
-            Map<String, String> roomCreatedEvent = objectMapper.readValue(messageBody, Map.class);
+            Map<String, String> roomCreatedEvent = pubSubCodec.decode(body, Map.class);
 
             webSocketHandler.broadcastRoomCreated(roomCreatedEvent);
 
-            log.info("채팅방 생성 이벤트 처리 완료 - 방ID: {}, 방 이름: {}", roomCreatedEvent.get("roomId"), roomCreatedEvent.get("roomName"));
+            log.debug("채팅방 생성 이벤트 처리 완료 - 방ID: {}, 방 이름: {}", roomCreatedEvent.get("roomId"), roomCreatedEvent.get("roomName"));
         } catch (Exception e) {
             log.error("채팅방 생성 이벤트 처리 실패", e);
         }
     }
+
+    private void handleHistoryChanged(byte[] body) {
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, List<String>> event = pubSubCodec.decode(body, Map.class);
+            List<String> userIds = event.get("userIds");
+            if (userIds != null) {
+                historyCache.invalidate(userIds);
+            }
+        } catch (Exception e) {
+            log.error("알림 이력 변경 이벤트 처리 실패", e);
+        }
+    }
+
+    private void handlePresence(byte[] body) {
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> event = pubSubCodec.decode(body, Map.class);
+            presenceService.apply(event);
+        } catch (Exception e) {
+            log.error("프레즌스 이벤트 처리 실패", e);
+        }
+    }
 }
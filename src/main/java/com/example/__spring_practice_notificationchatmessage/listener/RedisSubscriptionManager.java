@@ -0,0 +1,148 @@
+package com.example.__spring_practice_notificationchatmessage.listener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Subscribes this node only to the chat/user/group channels it has local sessions for.
+ * Callers mark a channel dirty together with a check of the current local interest;
+ * the check runs again at flush time, so a join and leave inside one flush window cancel out
+ * and out-of-order marks from different threads can't leave a stale subscription behind.
+ * A mark may carry a callback that runs once the flush has left the channel subscribed;
+ * callbacks go to their own executor, so the flush thread never waits on their I/O.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RedisSubscriptionManager {
+
+    private final ObjectProvider<RedisMessageListenerContainer> containerProvider;
+    private final ObjectProvider<RedisMessageListener> listenerProvider;
+    @Qualifier("subscriptionCallbackExecutor")
+    private final Executor callbackExecutor;
+
+    private final Map<String, Mark> pending = new ConcurrentHashMap<>();
+    private final Set<String> subscribed = ConcurrentHashMap.newKeySet();
+
+    public void markDirty(String channel, BooleanSupplier interested) {
+        markDirty(channel, interested, null);
+    }
+
+    // onSubscribed runs on the callback executor after the channel is subscribed; it is skipped when interest is gone by then
+    public void markDirty(String channel, BooleanSupplier interested, Runnable onSubscribed) {
+        pending.put(channel, new Mark(interested, onSubscribed));
+    }
+
+    public int getSubscribedCount() {
+        return subscribed.size();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${messaging.subscription.flush-interval-ms:50}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<String, Mark> toSubscribe = new HashMap<>();
+        Map<String, Mark> toUnsubscribe = new HashMap<>();
+        List<Runnable> callbacks = new ArrayList<>();
+        for (Map.Entry<String, Mark> entry : pending.entrySet()) {
+            String channel = entry.getKey();
+            Mark mark = entry.getValue();
+            // remove only this mark; a newer one stays for the next flush
+            if (!pending.remove(channel, mark)) {
+                continue;
+            }
+            if (mark.interested().getAsBoolean()) {
+                if (subscribed.add(channel)) {
+                    toSubscribe.put(channel, mark);
+                } else if (mark.onSubscribed() != null) {
+                    // already subscribed, e.g. a reconnect before the unsubscribe was flushed
+                    callbacks.add(mark.onSubscribed());
+                }
+            } else if (subscribed.remove(channel)) {
+                toUnsubscribe.put(channel, mark);
+            }
+        }
+
+        RedisMessageListener listener = listenerProvider.getObject();
+        RedisMessageListenerContainer container = containerProvider.getObject();
+        if (!toSubscribe.isEmpty()) {
+            try {
+                container.addMessageListener(listener, topics(toSubscribe));
+                toSubscribe.values().stream()
+                        .map(Mark::onSubscribed)
+                        .filter(Objects::nonNull)
+                        .forEach(callbacks::add);
+            } catch (Exception e) {
+                log.error("Redis 채널 구독 실패 - {}개", toSubscribe.size(), e);
+                retry(toSubscribe, subscribed::remove);
+            }
+        }
+        if (!toUnsubscribe.isEmpty()) {
+            try {
+                container.removeMessageListener(listener, topics(toUnsubscribe));
+            } catch (Exception e) {
+                log.error("Redis 채널 구독 해지 실패 - {}개", toUnsubscribe.size(), e);
+                retry(toUnsubscribe, subscribed::add);
+            }
+        }
+        log.debug("Redis 구독 갱신 - 구독: {}개, 해지: {}개, 전체: {}개",
+                toSubscribe.size(), toUnsubscribe.size(), subscribed.size());
+
+        callbacks.forEach(this::runCallback);
+    }
+
+    private void runCallback(Runnable callback) {
+        Runnable task = () -> {
+            try {
+                callback.run();
+            } catch (Exception e) {
+                log.error("구독 완료 후속 작업 실패", e);
+            }
+        };
+        try {
+            callbackExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // shutting down: run it here rather than lose it
+            task.run();
+        }
+    }
+
+    private static List<ChannelTopic> topics(Map<String, Mark> channels) {
+        return channels.keySet().stream().map(ChannelTopic::of).toList();
+    }
+
+    // Restore the local view and mark the channels again for the next flush
+    private void retry(Map<String, Mark> channels, Consumer<String> restore) {
+        channels.forEach((channel, mark) -> {
+            restore.accept(channel);
+            pending.putIfAbsent(channel, mark);
+        });
+    }
+
+    private record Mark(BooleanSupplier interested, Runnable onSubscribed) {
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.__spring_practice_notificationchatmessage.metrics;
+
+import com.example.__spring_practice_notificationchatmessage.listener.DispatchExecutor;
+import com.example.__spring_practice_notificationchatmessage.model.DeliveryLane;
+import com.example.__spring_practice_notificationchatmessage.service.CampaignService;
+import com.example.__spring_practice_notificationchatmessage.service.NotificationCoalescer;
+import com.example.__spring_practice_notificationchatmessage.service.NotificationHistoryCache;
+import com.example.__spring_practice_notificationchatmessage.service.NotificationInbox;
+import com.example.__spring_practice_notificationchatmessage.service.NotificationHistoryWriter;
+import com.example.__spring_practice_notificationchatmessage.service.SequenceAllocator;
+import com.example.__spring_practice_notificationchatmessage.websocket.OutboundStats;
+import com.example.__spring_practice_notificationchatmessage.websocket.RateLimiter;
+import com.example.__spring_practice_notificationchatmessage.websocket.RoomBatcher;
+import com.example.__spring_practice_notificationchatmessage.websocket.WebSocketHandler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes the counters the messaging components already keep as gauges and function meters.
+ * Values are read from the components' snapshots at scrape time, so nothing here is on the hot path.
+ */
+@Component
+@ConditionalOnProperty(prefix = "messaging.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MessagingMeterBinder implements MeterBinder {
+
+    private final WebSocketHandler webSocketHandler;
+    private final OutboundStats outboundStats;
+    private final DispatchExecutor dispatchExecutor;
+    private final NotificationHistoryWriter historyWriter;
+    private final NotificationHistoryCache historyCache;
+    private final RoomBatcher roomBatcher;
+    private final RateLimiter rateLimiter;
+    private final NotificationCoalescer coalescer;
+    private final NotificationInbox inbox;
+    private final CampaignService campaignService;
+    private final SequenceAllocator sequenceAllocator;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // sessions
+        Gauge.builder("messaging.sessions", webSocketHandler, WebSocketHandler::getSessionCount)
+                .description("Open WebSocket sessions on this node")
+                .register(registry);
+        Gauge.builder("messaging.sessions.users", webSocketHandler, WebSocketHandler::getConnectedUserCount)
+                .description("Users with at least one session on this node")
+                .register(registry);
+
+        // outbound queues and socket writes
+        Gauge.builder("messaging.outbound.queued.frames", outboundStats, stats -> stats.snapshot().queuedFrames())
+                .register(registry);
+        Gauge.builder("messaging.outbound.queued.bytes", outboundStats, stats -> stats.snapshot().queuedBytes())
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionTimer.builder("messaging.websocket.send", outboundStats,
+                        stats -> stats.snapshot().sent(), stats -> stats.snapshot().sendNanos(), TimeUnit.NANOSECONDS)
+                .description("WebSocketSession.sendMessage calls on the outbound writers")
+                .register(registry);
+        FunctionCounter.builder("messaging.outbound.dropped", outboundStats, stats -> stats.snapshot().dropped())
+                .register(registry);
+        FunctionCounter.builder("messaging.websocket.send.failures", outboundStats, stats -> stats.snapshot().sendFailures())
+                .register(registry);
+        FunctionCounter.builder("messaging.outbound.evictions", outboundStats, stats -> stats.snapshot().evictions())
+                .register(registry);
+
+        // Redis listener dispatch
+        Gauge.builder("messaging.dispatch.queue.depth", dispatchExecutor, executor -> executor.snapshot().totalQueueDepth())
+                .register(registry);
+        FunctionCounter.builder("messaging.dispatch.dropped", dispatchExecutor, executor -> executor.snapshot().dropped())
+                .register(registry);
+        Gauge.builder("messaging.dispatch.lag.max", dispatchExecutor, executor -> executor.snapshot().maxLagNanos())
+                .baseUnit("nanoseconds")
+                .register(registry);
+
+        // per-lane queueing latency: dispatch enqueue to handler start, session enqueue to socket write done
+        for (DeliveryLane lane : DeliveryLane.values()) {
+            String tag = lane.name().toLowerCase();
+            FunctionTimer.builder("messaging.lane.latency", dispatchExecutor,
+                            executor -> executor.snapshot().lanes().get(lane).count(),
+                            executor -> executor.snapshot().lanes().get(lane).totalNanos(), TimeUnit.NANOSECONDS)
+                    .tags("stage", "dispatch", "lane", tag)
+                    .register(registry);
+            Gauge.builder("messaging.lane.latency.max", dispatchExecutor, executor -> executor.snapshot().lanes().get(lane).maxNanos())
+                    .tags("stage", "dispatch", "lane", tag)
+                    .baseUnit("nanoseconds")
+                    .register(registry);
+            FunctionTimer.builder("messaging.lane.latency", outboundStats,
+                            stats -> stats.snapshot().lanes().get(lane).count(),
+                            stats -> stats.snapshot().lanes().get(lane).totalNanos(), TimeUnit.NANOSECONDS)
+                    .tags("stage", "outbound", "lane", tag)
+                    .register(registry);
+            Gauge.builder("messaging.lane.latency.max", outboundStats, stats -> stats.snapshot().lanes().get(lane).maxNanos())
+                    .tags("stage", "outbound", "lane", tag)
+                    .baseUnit("nanoseconds")
+                    .register(registry);
+        }
+
+        // history pipeline
+        Gauge.builder("messaging.history.backlog", historyWriter, writer -> writer.snapshot().backlog())
+                .register(registry);
+        FunctionCounter.builder("messaging.history.written", historyWriter, writer -> writer.snapshot().written())
+                .register(registry);
+        FunctionCounter.builder("messaging.history.failed", historyWriter, writer -> writer.snapshot().failed())
+                .register(registry);
+        FunctionCounter.builder("messaging.history.dropped", historyWriter, writer -> writer.snapshot().dropped())
+                .register(registry);
+        Gauge.builder("messaging.history.flush.max", historyWriter, writer -> writer.snapshot().maxFlushNanos())
+                .baseUnit("nanoseconds")
+                .register(registry);
+        Gauge.builder("messaging.history.cache.hit.ratio", historyCache, cache -> cache.snapshot().hitRatio())
+                .register(registry);
+
+        // room batching
+        FunctionCounter.builder("messaging.batching.flushes", roomBatcher, batcher -> batcher.snapshot().flushes())
+                .register(registry);
+        FunctionCounter.builder("messaging.batching.messages", roomBatcher, batcher -> batcher.snapshot().messages())
+                .register(registry);
+
+        // inbound client commands
+        FunctionCounter.builder("messaging.client.commands.rejected", webSocketHandler, handler -> handler.getCommandStats().rejected())
+                .register(registry);
+
+        // notification coalescing
+        FunctionCounter.builder("messaging.coalescing.coalesced", coalescer, c -> c.snapshot().coalesced())
+                .description("Notifications folded into a digest instead of being published on their own")
+                .register(registry);
+        FunctionCounter.builder("messaging.coalescing.digests", coalescer, c -> c.snapshot().digests())
+                .register(registry);
+        Gauge.builder("messaging.coalescing.bursts", coalescer, c -> c.snapshot().activeBursts())
+                .register(registry);
+
+        // offline inbox
+        FunctionCounter.builder("messaging.inbox.stored", inbox, i -> i.snapshot().stored())
+                .register(registry);
+        FunctionCounter.builder("messaging.inbox.drained", inbox, i -> i.snapshot().drained())
+                .register(registry);
+        FunctionCounter.builder("messaging.inbox.failed", inbox, i -> i.snapshot().failed())
+                .register(registry);
+
+        // campaigns
+        Gauge.builder("messaging.campaigns.active", campaignService, service -> service.snapshot().activeCampaigns())
+                .register(registry);
+        FunctionCounter.builder("messaging.campaigns.published", campaignService, service -> service.snapshot().published())
+                .register(registry);
+
+        // chat sequence leases
+        FunctionCounter.builder("messaging.sequence.allocated", sequenceAllocator, allocator -> allocator.snapshot().allocated())
+                .register(registry);
+        FunctionCounter.builder("messaging.sequence.leases", sequenceAllocator, allocator -> allocator.snapshot().leased())
+                .description("Sequence blocks reserved with INCRBY")
+                .register(registry);
+        FunctionCounter.builder("messaging.sequence.failed", sequenceAllocator, allocator -> allocator.snapshot().failed())
+                .register(registry);
+
+        // rate limiting
+        FunctionCounter.builder("messaging.ratelimit.throttled", rateLimiter, limiter -> limiter.snapshot().userThrottled())
+                .tag("scope", "user")
+                .register(registry);
+        FunctionCounter.builder("messaging.ratelimit.throttled", rateLimiter, limiter -> limiter.snapshot().roomThrottled())
+                .tag("scope", "room")
+                .register(registry);
+        FunctionTimer.builder("messaging.ratelimit.delay", rateLimiter,
+                        limiter -> limiter.snapshot().delayed(), limiter -> limiter.snapshot().delayNanos(), TimeUnit.NANOSECONDS)
+                .description("Time DELAY-policy callers waited for a token")
+                .register(registry);
+        FunctionCounter.builder("messaging.ratelimit.dropped", rateLimiter, limiter -> limiter.snapshot().dropped())
+                .register(registry);
+        FunctionCounter.builder("messaging.ratelimit.disconnected", rateLimiter, limiter -> limiter.snapshot().disconnected())
+                .register(registry);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.__spring_practice_notificationchatmessage.metrics;
+
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.listener.ChannelType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hot-path recorders for delivery latency, fan-out, serialization time and inbound throughput.
+ * With messaging.metrics.enabled=false no meters are registered and every record call
+ * returns after a single field read. Per-type totals are always kept in LongAdders
+ * and logged as one aggregated summary line per interval instead of one line per message.
+ */
+@Component
+@Slf4j
+public class MessagingMetrics {
+
+    public enum FanOutTarget {
+        ROOM, GROUP, BROADCAST
+    }
+
+    public enum SerializationStage {
+        PUBSUB_ENCODE, PUBSUB_DECODE, WEBSOCKET_ENCODE
+    }
+
+    private final boolean enabled;
+    private final Map<ChannelType, Counter> inbound = new EnumMap<>(ChannelType.class);
+    private final Map<ChannelType, Timer> deliveryLatency = new EnumMap<>(ChannelType.class);
+    private final Map<FanOutTarget, DistributionSummary> fanOutSessions = new EnumMap<>(FanOutTarget.class);
+    private final Map<FanOutTarget, Counter> fanOutFailures = new EnumMap<>(FanOutTarget.class);
+    private final Map<SerializationStage, Timer> serialization = new EnumMap<>(SerializationStage.class);
+
+    // totals since the last summary line
+    private final Map<ChannelType, LongAdder> handled = new EnumMap<>(ChannelType.class);
+    private final LongAdder failures = new LongAdder();
+
+    public MessagingMetrics(MeterRegistry meterRegistry, MessagingProperties messagingProperties) {
+        this.enabled = messagingProperties.getMetrics().isEnabled();
+        for (ChannelType type : ChannelType.values()) {
+            handled.put(type, new LongAdder());
+        }
+        if (!enabled) {
+            log.info("메시징 메트릭 비활성화");
+            return;
+        }
+
+        for (ChannelType type : ChannelType.values()) {
+            String tag = tag(type);
+            inbound.put(type, Counter.builder("messaging.inbound.messages")
+                    .description("Redis pub/sub messages received, per channel type")
+                    .tag("type", tag)
+                    .register(meterRegistry));
+            deliveryLatency.put(type, Timer.builder("messaging.delivery.latency")
+                    .description("Publish timestamp to hand-off to the local session queues")
+                    .tag("type", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        for (FanOutTarget target : FanOutTarget.values()) {
+            String tag = tag(target);
+            fanOutSessions.put(target, DistributionSummary.builder("messaging.fanout.sessions")
+                    .description("Sessions a single message was handed to")
+                    .tag("target", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            fanOutFailures.put(target, Counter.builder("messaging.fanout.failures")
+                    .description("Sessions that did not accept a fan-out frame")
+                    .tag("target", tag)
+                    .register(meterRegistry));
+        }
+        for (SerializationStage stage : SerializationStage.values()) {
+            serialization.put(stage, Timer.builder("messaging.serialization")
+                    .description("Time spent encoding or decoding a payload")
+                    .tag("stage", tag(stage))
+                    .register(meterRegistry));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Returns 0 when disabled, so callers skip the clock read too
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public void recordSerialization(SerializationStage stage, long startNanos) {
+        if (enabled) {
+            serialization.get(stage).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void recordInbound(ChannelType type) {
+        handled.get(type).increment();
+        if (enabled) {
+            inbound.get(type).increment();
+        }
+    }
+
+    // publishedAt is the publisher's epoch millis; messages from older publishers carry none
+    public void recordDelivery(ChannelType type, Long publishedAt) {
+        if (enabled && publishedAt != null) {
+            long latency = System.currentTimeMillis() - publishedAt;
+            if (latency >= 0) {
+                deliveryLatency.get(type).record(latency, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    public void recordFanOut(FanOutTarget target, int sessions, int failed) {
+        if (failed > 0) {
+            failures.add(failed);
+        }
+        if (enabled) {
+            fanOutSessions.get(target).record(sessions);
+            if (failed > 0) {
+                fanOutFailures.get(target).increment(failed);
+            }
+        }
+    }
+
+    // One line per interval replaces the per-message INFO logs
+    @Scheduled(fixedDelayString = "${messaging.metrics.log-interval-ms:60000}")
+    public void logSummary() {
+        StringBuilder summary = new StringBuilder();
+        long total = 0;
+        for (Map.Entry<ChannelType, LongAdder> entry : handled.entrySet()) {
+            long count = entry.getValue().sumThenReset();
+            if (count > 0) {
+                summary.append(' ').append(tag(entry.getKey())).append('=').append(count);
+                total += count;
+            }
+        }
+        long failed = failures.sumThenReset();
+        if (total > 0 || failed > 0) {
+            log.info("메시지 처리 요약 - 수신: {}건 [{} ], 전송 실패: {}건", total, summary, failed);
+        }
+    }
+
+    private static String tag(Enum<?> value) {
+        return value.name().toLowerCase();
+    }
+}
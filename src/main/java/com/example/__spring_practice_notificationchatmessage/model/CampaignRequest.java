@@ -0,0 +1,17 @@
+package com.example.__spring_practice_notificationchatmessage.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Body of POST /api/notifications/campaigns; exactly one of userIds and groupId is set
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampaignRequest {
+    private List<String> userIds;
+    private String groupId;
+    private NotificationMessage notification;
+}
@@ -22,6 +22,14 @@ public class ChatMessage {
     private MessageType messageType;
     private LocalDateTime timestamp;
     private Map<String, Object> metadata;
+    // id of the entry in the room's Redis Stream; clients send the last one they saw on join_room
+    private String streamId;
+    // epoch millis stamped by the publisher, used for the delivery latency metric
+    private Long publishedAt;
+    // per-room sequence and the first number of its leased block; a hole between two numbers
+    // of the same block is a lost message, which the client can ask for with fetch_gap
+    private Long seq;
+    private Long seqBlock;
 
     public enum MessageType {
         TEXT,
@@ -0,0 +1,31 @@
+package com.example.__spring_practice_notificationchatmessage.model;
+
+// Delivery priority of an outgoing message; lanes are served in declaration order
+public enum DeliveryLane {
+    // ERROR/WARNING notifications and SYSTEM chat messages
+    HIGH,
+    // other notifications and replies to client commands
+    NORMAL,
+    // bulk chat traffic
+    LOW;
+
+    public static DeliveryLane of(NotificationMessage notification) {
+        NotificationMessage.NotificationLevel level = notification.getLevel();
+        return level == NotificationMessage.NotificationLevel.ERROR || level == NotificationMessage.NotificationLevel.WARNING
+                ? HIGH : NORMAL;
+    }
+
+    public static DeliveryLane of(ChatMessage chatMessage) {
+        return chatMessage.getMessageType() == ChatMessage.MessageType.SYSTEM ? HIGH : LOW;
+    }
+
+    public static DeliveryLane of(Object message) {
+        if (message instanceof NotificationMessage notification) {
+            return of(notification);
+        }
+        if (message instanceof ChatMessage chatMessage) {
+            return of(chatMessage);
+        }
+        return NORMAL;
+    }
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -22,6 +23,8 @@ public class NotificationMessage {
     private Map<String, Object> data;
     private LocalDateTime timestamp;
     private NotificationLevel level;
+    // epoch millis stamped by the publisher, used for the delivery latency metric
+    private Long publishedAt;
 
     public enum NotificationLevel {
         INFO, WARNING, ERROR, SUCCESS
@@ -47,9 +50,24 @@ public class NotificationMessage {
                 .userId(userId)
                 .title("결제 실패")
                 .content("주문번호 " + orderId + "결제가 실패했습니다." + reason)
-                .level(NotificationLevel.SUCCESS)
+                .level(NotificationLevel.ERROR)
                 .timestamp(LocalDateTime.now())
                 .data(Map.of("orderId", orderId, "reason", reason))
                 .build();
     }
+
+    // One notification standing for `count` of the same type; items holds the newest ones, newest last
+    public static NotificationMessage digest(String userId, int count, List<NotificationMessage> items) {
+        NotificationMessage latest = items.get(items.size() - 1);
+        return NotificationMessage.builder()
+                .id(UUID.randomUUID().toString())
+                .type(latest.getType())
+                .userId(userId)
+                .title(latest.getTitle() + " 외 " + (count - 1) + "건")
+                .content(latest.getContent())
+                .level(latest.getLevel())
+                .timestamp(latest.getTimestamp())
+                .data(Map.of("digest", true, "count", count, "items", items))
+                .build();
+    }
 }
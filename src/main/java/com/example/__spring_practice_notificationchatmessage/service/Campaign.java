@@ -0,0 +1,93 @@
+package com.example.__spring_practice_notificationchatmessage.service;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+// Progress of one bulk send; counters are written by the campaign worker and read by status queries
+public class Campaign {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    private final String id;
+    private final String target;
+    private final int total;
+    private final Instant createdAt = Instant.now();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile State state = State.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    Campaign(String id, String target, int total) {
+        this.id = id;
+        this.target = target;
+        this.total = total;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    // Stops the campaign after the batch in flight; recipients already published keep their notification
+    public boolean cancel() {
+        if (state.compareTo(State.RUNNING) > 0) {
+            return false;
+        }
+        cancelRequested = true;
+        return true;
+    }
+
+    public Progress progress() {
+        return new Progress(id, state, target, total, published.sum(), stored.sum(), skipped.sum(), failed.sum(),
+                createdAt, startedAt, finishedAt);
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void started() {
+        startedAt = Instant.now();
+        state = State.RUNNING;
+    }
+
+    void finished(State finalState) {
+        finishedAt = Instant.now();
+        state = finalState;
+    }
+
+    void published(int count) {
+        published.add(count);
+    }
+
+    void stored(int count) {
+        stored.add(count);
+    }
+
+    void skipped(int count) {
+        skipped.add(count);
+    }
+
+    void failed(int count) {
+        failed.add(count);
+    }
+
+    boolean isDone() {
+        return state.compareTo(State.RUNNING) > 0;
+    }
+
+    /**
+     * @param total     recipients, or 1 for a group campaign (one publish fanned out by every node)
+     * @param published publishes that reached at least one node
+     * @param stored    recipients without a session, kept in their offline inbox
+     * @param skipped   recipients without a session while store-offline is off
+     */
+    public record Progress(String id, State state, String target, int total, long published, long stored,
+                           long skipped, long failed, Instant createdAt, Instant startedAt, Instant finishedAt) {
+    }
+}
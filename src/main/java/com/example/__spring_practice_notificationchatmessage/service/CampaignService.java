@@ -0,0 +1,209 @@
+package com.example.__spring_practice_notificationchatmessage.service;
+
+import com.example.__spring_practice_notificationchatmessage.codec.PubSubCodec;
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.listener.RedisChannels;
+import com.example.__spring_practice_notificationchatmessage.model.NotificationMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends one notification to a large audience. The payload is encoded once; recipients are
+ * published in pipelined batches on a campaign worker, paced to max-publishes-per-second so
+ * interactive publishes keep their share of the Redis connections. A group audience is a single
+ * publish on the group channel, fanned out by every node that has members.
+ */
+@Service
+@Slf4j
+public class CampaignService {
+
+    private final RedisTemplate<String, byte[]> pubSubTemplate;
+    private final PubSubCodec pubSubCodec;
+    private final NotificationInbox inbox;
+    private final MessagingProperties.Campaign settings;
+    private final Executor campaignExecutor;
+    private final Map<String, Campaign> campaigns;
+
+    private final LongAdder publishedTotal = new LongAdder();
+
+    public CampaignService(RedisTemplate<String, byte[]> pubSubTemplate, PubSubCodec pubSubCodec,
+                           NotificationInbox inbox,
+                           MessagingProperties messagingProperties,
+                           @Qualifier("campaignExecutor") Executor campaignExecutor) {
+        this.pubSubTemplate = pubSubTemplate;
+        this.pubSubCodec = pubSubCodec;
+        this.inbox = inbox;
+        this.settings = messagingProperties.getCampaign();
+        this.campaignExecutor = campaignExecutor;
+        int retained = settings.getRetained();
+        // insertion ordered; the oldest finished campaign goes first once more than `retained` are kept
+        this.campaigns = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Campaign> eldest) {
+                return size() > retained && eldest.getValue().isDone();
+            }
+        };
+    }
+
+    // userId stays empty in the shared payload; the user channel identifies the recipient
+    public Campaign sendToUsers(Collection<String> userIds, NotificationMessage notification) {
+        List<String> recipients = new ArrayList<>(new LinkedHashSet<>(userIds));
+        byte[] payload = encode(notification);
+        Campaign campaign = register("users", recipients.size());
+        campaignExecutor.execute(() -> run(campaign, recipients, payload));
+        return campaign;
+    }
+
+    public Campaign sendToGroup(String groupId, NotificationMessage notification) {
+        byte[] payload = encode(notification);
+        Campaign campaign = register("group:" + groupId, 1);
+        campaignExecutor.execute(() -> {
+            if (campaign.isCancelRequested()) {
+                campaign.finished(Campaign.State.CANCELLED);
+                return;
+            }
+            campaign.started();
+            try {
+                Long nodes = pubSubTemplate.convertAndSend(RedisChannels.group(groupId), payload);
+                campaign.published(1);
+                publishedTotal.increment();
+                campaign.finished(Campaign.State.COMPLETED);
+                log.info("그룹 캠페인 발행 완료 - 캠페인: {}, 그룹: {}, 수신 노드: {}", campaign.getId(), groupId, nodes);
+            } catch (Exception e) {
+                campaign.failed(1);
+                campaign.finished(Campaign.State.FAILED);
+                log.error("그룹 캠페인 발행 실패 - 캠페인: {}, 그룹: {}", campaign.getId(), groupId, e);
+            }
+        });
+        return campaign;
+    }
+
+    public Campaign find(String campaignId) {
+        synchronized (campaigns) {
+            return campaigns.get(campaignId);
+        }
+    }
+
+    public Stats snapshot() {
+        int active = 0;
+        synchronized (campaigns) {
+            for (Campaign campaign : campaigns.values()) {
+                if (!campaign.isDone()) {
+                    active++;
+                }
+            }
+        }
+        return new Stats(active, publishedTotal.sum());
+    }
+
+    public record Stats(int activeCampaigns, long published) {
+    }
+
+    private Campaign register(String target, int total) {
+        Campaign campaign = new Campaign(UUID.randomUUID().toString(), target, total);
+        synchronized (campaigns) {
+            campaigns.put(campaign.getId(), campaign);
+        }
+        log.info("캠페인 등록 - 캠페인: {}, 대상: {}, 수신자: {}명", campaign.getId(), target, total);
+        return campaign;
+    }
+
+    private byte[] encode(NotificationMessage notification) {
+        notification.setUserId(null);
+        try {
+            return pubSubCodec.encode(notification);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("캠페인 알림 직렬화 실패", e);
+        }
+    }
+
+    private void run(Campaign campaign, List<String> recipients, byte[] payload) {
+        campaign.started();
+        int batchSize = Math.max(1, settings.getBatchSize());
+        long nanosPerPublish = TimeUnit.SECONDS.toNanos(1) / Math.max(1, settings.getMaxPublishesPerSecond());
+        long nextBatchAt = System.nanoTime();
+
+        for (int from = 0; from < recipients.size(); from += batchSize) {
+            if (campaign.isCancelRequested()) {
+                campaign.finished(Campaign.State.CANCELLED);
+                log.info("캠페인 취소 - 캠페인: {}, 진행: {}/{}", campaign.getId(), from, recipients.size());
+                return;
+            }
+            // pace whole batches so the average rate stays under the cap
+            for (long wait = nextBatchAt - System.nanoTime(); wait > 0; wait = nextBatchAt - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            List<String> batch = recipients.subList(from, Math.min(from + batchSize, recipients.size()));
+            nextBatchAt = Math.max(nextBatchAt, System.nanoTime()) + nanosPerPublish * batch.size();
+            sendBatch(campaign, batch, payload);
+        }
+        campaign.finished(Campaign.State.COMPLETED);
+        Campaign.Progress progress = campaign.progress();
+        log.info("캠페인 발행 완료 - 캠페인: {}, 발행: {}건, 보관: {}건, 실패: {}건",
+                campaign.getId(), progress.published(), progress.stored(), progress.failed());
+    }
+
+    // One pipeline publishes to every recipient; a second one fills the inbox of those no node received it for.
+    // Presence is not consulted: it lags behind connects and would send online users to the inbox only
+    private void sendBatch(Campaign campaign, List<String> batch, byte[] payload) {
+        List<String> unreached = new ArrayList<>();
+        try {
+            List<Object> receivers = pubSubTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String userId : batch) {
+                    connection.pubSubCommands().publish(RedisChannels.user(userId).getBytes(StandardCharsets.UTF_8), payload);
+                }
+                return null;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                // no subscriber on any node means no session anywhere
+                if (receivers.get(i) instanceof Long count && count == 0) {
+                    unreached.add(batch.get(i));
+                }
+            }
+            int reached = batch.size() - unreached.size();
+            campaign.published(reached);
+            publishedTotal.add(reached);
+        } catch (Exception e) {
+            campaign.failed(batch.size());
+            log.error("캠페인 배치 발행 실패 - 캠페인: {}, 배치: {}명", campaign.getId(), batch.size(), e);
+            return;
+        }
+
+        if (unreached.isEmpty()) {
+            return;
+        }
+        if (!settings.isStoreOffline() || !inbox.isEnabled()) {
+            campaign.skipped(unreached.size());
+            return;
+        }
+        try {
+            pubSubTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String userId : unreached) {
+                    inbox.append(connection, userId, payload);
+                }
+                return null;
+            });
+            campaign.stored(unreached.size());
+        } catch (Exception e) {
+            // only the recipients that were not reached; the published ones are already counted
+            campaign.failed(unreached.size());
+            log.error("캠페인 오프라인 보관 실패 - 캠페인: {}, 대상: {}명", campaign.getId(), unreached.size(), e);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.__spring_practice_notificationchatmessage.service;
+
+import com.example.__spring_practice_notificationchatmessage.codec.PubSubCodec;
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.listener.RedisChannels;
+import com.example.__spring_practice_notificationchatmessage.model.ChatMessage;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisCallback;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatService {
+
+    public static final String STREAM_KEY_PREFIX = "chat:stream:";
+    private static final byte[] PAYLOAD_FIELD = "m".getBytes(StandardCharsets.UTF_8);
+
+    private final RedisTemplate<String, byte[]> pubSubTemplate;
+    private final PubSubCodec pubSubCodec;
+    private final MessagingProperties messagingProperties;
+    private final SequenceAllocator sequenceAllocator;
+    @Qualifier("chatPublishExecutor")
+    private final Executor chatPublishExecutor;
+
+    private RoomPublishQueue publishQueue;
+
+    public static String streamKey(String roomId) {
+        return STREAM_KEY_PREFIX + roomId;
+    }
+
+    @PostConstruct
+    public void start() {
+        publishQueue = new RoomPublishQueue(sequenceAllocator, chatPublishExecutor,
+                messagingProperties.getChatStream().getPublishBatchSize(), this::publishBatch);
+    }
+
+    // Stamps the room sequence and queues the message; the room's writer appends it to the capped stream,
+    // then publishes it stamped with the stream id, in sequence order
+    public void sendMessage(ChatMessage chatMessage) {
+        publishQueue.submit(chatMessage);
+    }
+
+    // One pipeline of XADDs, then one of PUBLISHes: the published payload carries the stream id XADD returned
+    private void publishBatch(String roomId, List<ChatMessage> batch) throws IOException {
+        byte[] key = streamKey(roomId).getBytes(StandardCharsets.UTF_8);
+        byte[] channel = RedisChannels.chat(roomId).getBytes(StandardCharsets.UTF_8);
+        XAddOptions options = XAddOptions.maxlen(messagingProperties.getChatStream().getMaxLength())
+                .approximateTrimming(true);
+
+        List<byte[]> entries = new ArrayList<>(batch.size());
+        for (ChatMessage chatMessage : batch) {
+            entries.add(pubSubCodec.encode(chatMessage));
+        }
+        List<Object> recordIds = pubSubTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (byte[] entry : entries) {
+                connection.streamCommands().xAdd(StreamRecords.newRecord().in(key).ofMap(Map.of(PAYLOAD_FIELD, entry)), options);
+            }
+            return null;
+        });
+
+        List<byte[]> payloads = new ArrayList<>(batch.size());
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < batch.size(); i++) {
+            ChatMessage chatMessage = batch.get(i);
+            chatMessage.setStreamId(recordIds.get(i) instanceof RecordId recordId ? recordId.getValue() : null);
+            chatMessage.setPublishedAt(now);
+            payloads.add(pubSubCodec.encode(chatMessage));
+        }
+        pubSubTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (byte[] payload : payloads) {
+                connection.publish(channel, payload);
+            }
+            return null;
+        });
+        log.debug("채팅 메시지 발행 완료 - 방: {}, {}건, 시퀀스: {}~{}", roomId, batch.size(),
+                batch.get(0).getSeq(), batch.get(batch.size() - 1).getSeq());
+    }
+
+    // Reads everything after lastSeenId in batches of replay-batch-size and hands each batch to the consumer
+    public int replaySince(String roomId, String lastSeenId, Consumer<List<ChatMessage>> batchConsumer) {
+        byte[] key = streamKey(roomId).getBytes(StandardCharsets.UTF_8);
+        int batchSize = messagingProperties.getChatStream().getReplayBatchSize();
+        long maxLength = messagingProperties.getChatStream().getMaxLength();
+
+        String cursor = lastSeenId;
+        int replayed = 0;
+        // the stream is capped, so never read more than it can hold
+        while (replayed < maxLength) {
+            Range<String> range = Range.of(Range.Bound.exclusive(cursor), Range.Bound.unbounded());
+            List<ByteRecord> records = pubSubTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                    connection.streamCommands().xRange(key, range, Limit.limit().count(batchSize)));
+            if (records == null || records.isEmpty()) {
+                break;
+            }
+
+            List<ChatMessage> batch = new ArrayList<>(records.size());
+            for (ByteRecord record : records) {
+                ChatMessage chatMessage = decode(record);
+                if (chatMessage != null) {
+                    batch.add(chatMessage);
+                }
+                cursor = record.getId().getValue();
+            }
+            if (!batch.isEmpty()) {
+                batchConsumer.accept(batch);
+            }
+            replayed += records.size();
+            if (records.size() < batchSize) {
+                break;
+            }
+        }
+        log.debug("채팅 메시지 재전송 완료 - 방: {}, 기준ID: {}, {}건", roomId, lastSeenId, replayed);
+        return replayed;
+    }
+
+    /**
+     * Finds the messages numbered fromSeq..toSeq for a client that saw a hole in a block.
+     * The scan starts gap-scan-skew before afterId (the stream id of the last message before the hole),
+     * because a number can reach the stream slightly after a higher one published concurrently,
+     * and stops once every number is found or the capped stream is exhausted.
+     * Numbers missing from the result were trimmed or never published.
+     */
+    public List<ChatMessage> findBySequence(String roomId, String afterId, long fromSeq, long toSeq) {
+        byte[] key = streamKey(roomId).getBytes(StandardCharsets.UTF_8);
+        int batchSize = messagingProperties.getChatStream().getReplayBatchSize();
+        long maxLength = messagingProperties.getChatStream().getMaxLength();
+        long wanted = toSeq - fromSeq + 1;
+
+        List<ChatMessage> found = new ArrayList<>();
+        Range.Bound<String> lower = scanStart(afterId);
+        int scanned = 0;
+        while (found.size() < wanted && scanned < maxLength) {
+            Range<String> range = Range.of(lower, Range.Bound.unbounded());
+            List<ByteRecord> records = pubSubTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                    connection.streamCommands().xRange(key, range, Limit.limit().count(batchSize)));
+            if (records == null || records.isEmpty()) {
+                break;
+            }
+            for (ByteRecord record : records) {
+                ChatMessage chatMessage = decode(record);
+                if (chatMessage != null && chatMessage.getSeq() != null
+                        && chatMessage.getSeq() >= fromSeq && chatMessage.getSeq() <= toSeq) {
+                    found.add(chatMessage);
+                }
+            }
+            scanned += records.size();
+            lower = Range.Bound.exclusive(records.get(records.size() - 1).getId().getValue());
+            if (records.size() < batchSize) {
+                break;
+            }
+        }
+        found.sort(Comparator.comparing(ChatMessage::getSeq));
+        log.debug("채팅 시퀀스 구간 조회 - 방: {}, 구간: {}~{}, {}건 (검색: {}건)", roomId, fromSeq, toSeq, found.size(), scanned);
+        return found;
+    }
+
+    // Stream ids are <epoch millis>-<n>; an unknown or missing afterId scans from the start of the stream
+    private Range.Bound<String> scanStart(String afterId) {
+        if (afterId == null) {
+            return Range.Bound.unbounded();
+        }
+        int dash = afterId.indexOf('-');
+        try {
+            long millis = Long.parseLong(dash > 0 ? afterId.substring(0, dash) : afterId);
+            long start = Math.max(0, millis - messagingProperties.getSequence().getGapScanSkew().toMillis());
+            return Range.Bound.inclusive(start + "-0");
+        } catch (NumberFormatException e) {
+            return Range.Bound.unbounded();
+        }
+    }
+
+    private ChatMessage decode(ByteRecord record) {
+        try {
+            // one field per entry; byte[] map keys can't be looked up by value
+            for (Map.Entry<byte[], byte[]> field : record.getValue().entrySet()) {
+                ChatMessage chatMessage = pubSubCodec.decode(field.getValue(), ChatMessage.class);
+                chatMessage.setStreamId(record.getId().getValue());
+                return chatMessage;
+            }
+        } catch (Exception e) {
+            log.error("채팅 스트림 항목 복원 실패 - ID: {}", record.getId().getValue(), e);
+        }
+        return null;
+    }
+}
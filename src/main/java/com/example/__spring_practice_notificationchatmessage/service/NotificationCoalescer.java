@@ -0,0 +1,203 @@
+package com.example.__spring_practice_notificationchatmessage.service;
+
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.model.NotificationMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Collapses bursts of same-type notifications for one user into digests.
+ * The first notification after a quiet window goes out immediately; the ones that follow within
+ * the window are held and published as one digest (count plus the newest items) when it ends.
+ * Levels listed in bypass-levels never wait, and flush the held burst of their type first so
+ * the user sees them in order.
+ * Only the digest is published, so folded notifications survive as its count and newest items;
+ * nothing is written to notification history on this path.
+ */
+@Component
+@Slf4j
+public class NotificationCoalescer implements SmartLifecycle {
+
+    // stopped after the web server (DEFAULT_PHASE - 2048) and before the Redis connection factory (phase 0),
+    // so the final flush can still publish
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final MessagingProperties.Coalescing settings;
+    private final ScheduledExecutorService scheduler;
+    private final Map<BurstKey, Burst> bursts = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    private final LongAdder immediate = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder digests = new LongAdder();
+
+    public NotificationCoalescer(MessagingProperties messagingProperties) {
+        this.settings = messagingProperties.getCoalescing();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    // Publishes whatever is still held, so a shutdown does not swallow the tail of a burst;
+    // notifications offered afterwards are passed straight to the sink
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdownNow();
+        bursts.values().forEach(Burst::close);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    // sink publishes one notification or digest; it runs on the caller or on the coalescer thread
+    public void offer(String userId, NotificationMessage notification, Consumer<NotificationMessage> sink) {
+        BurstKey key = new BurstKey(userId, notification.getType());
+        if (!running || settings.getBypassLevels().contains(notification.getLevel())) {
+            Burst held = bursts.get(key);
+            if (held != null) {
+                held.flush();
+            }
+            bypassed.increment();
+            sink.accept(notification);
+            return;
+        }
+
+        while (true) {
+            Burst burst = bursts.get(key);
+            if (burst == null) {
+                Burst opened = new Burst(key, sink);
+                if (bursts.putIfAbsent(key, opened) == null) {
+                    // leading edge: nothing was sent for this key within the window
+                    immediate.increment();
+                    sink.accept(notification);
+                    opened.schedule();
+                    return;
+                }
+                continue;
+            }
+            if (burst.hold(notification, sink)) {
+                coalesced.increment();
+                return;
+            }
+            // the burst closed between get and hold; it has already left the map
+        }
+    }
+
+    public Stats snapshot() {
+        return new Stats(immediate.sum(), bypassed.sum(), coalesced.sum(), digests.sum(), bursts.size());
+    }
+
+    /**
+     * @param immediate notifications sent at once because their key was quiet
+     * @param coalesced notifications held into a digest instead of being published on their own
+     * @param digests   notifications published at window end (digests, or a single held notification)
+     */
+    public record Stats(long immediate, long bypassed, long coalesced, long digests, int activeBursts) {
+    }
+
+    private record BurstKey(String userId, String type) {
+    }
+
+    private class Burst {
+        private final BurstKey key;
+        private final Deque<NotificationMessage> newest = new ArrayDeque<>();
+        private Consumer<NotificationMessage> sink;
+        private int count;
+        private boolean closed;
+
+        Burst(BurstKey key, Consumer<NotificationMessage> sink) {
+            this.key = key;
+            this.sink = sink;
+        }
+
+        // Returns false once the burst is closed; the caller then opens a new one
+        synchronized boolean hold(NotificationMessage notification, Consumer<NotificationMessage> sink) {
+            if (closed) {
+                return false;
+            }
+            this.sink = sink;
+            newest.addLast(notification);
+            if (newest.size() > settings.getMaxItems()) {
+                newest.pollFirst();
+            }
+            count++;
+            return true;
+        }
+
+        void schedule() {
+            try {
+                scheduler.schedule(this::windowEnd, settings.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // stopping: no window will end, so publish what is held now
+                close();
+                bursts.remove(key, this);
+            }
+        }
+
+        // A window that held something publishes it and opens the next one; a quiet window closes the key
+        synchronized void windowEnd() {
+            if (count == 0) {
+                closed = true;
+                bursts.remove(key, this);
+                return;
+            }
+            flush();
+            schedule();
+        }
+
+        synchronized void close() {
+            flush();
+            closed = true;
+        }
+
+        synchronized void flush() {
+            if (count == 0) {
+                return;
+            }
+            NotificationMessage published = count == 1
+                    ? newest.getFirst()
+                    : NotificationMessage.digest(key.userId(), count, new ArrayList<>(newest));
+            digests.increment();
+            newest.clear();
+            count = 0;
+            try {
+                sink.accept(published);
+            } catch (Exception e) {
+                log.error("다이제스트 알림 발행 실패 - 사용자: {}, 타입: {}", key.userId(), key.type(), e);
+            }
+        }
+    }
+}
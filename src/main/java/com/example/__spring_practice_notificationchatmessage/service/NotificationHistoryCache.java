@@ -0,0 +1,47 @@
+package com.example.__spring_practice_notificationchatmessage.service;
+
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.model.NotificationMessage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bounded local near-cache of each user's full history list (newest first).
+ * Entries expire after the configured TTL and are invalidated when any node flushes new history for the user.
+ */
+@Component
+public class NotificationHistoryCache {
+
+    private final Cache<String, List<NotificationMessage>> cache;
+
+    public NotificationHistoryCache(MessagingProperties messagingProperties) {
+        MessagingProperties.HistoryCache settings = messagingProperties.getHistoryCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxUsers())
+                .expireAfterWrite(settings.getTtl())
+                .recordStats()
+                .build();
+    }
+
+    public List<NotificationMessage> get(String userId, Function<String, List<NotificationMessage>> loader) {
+        return cache.get(userId, loader);
+    }
+
+    public void invalidate(Collection<String> userIds) {
+        cache.invalidateAll(userIds);
+    }
+
+    public Stats snapshot() {
+        CacheStats stats = cache.stats();
+        return new Stats(cache.estimatedSize(), stats.hitRate(), stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+
+    public record Stats(long size, double hitRatio, long hits, long misses, long evictions) {
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.__spring_practice_notificationchatmessage.service;
+
+import com.example.__spring_practice_notificationchatmessage.codec.PubSubCodec;
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.listener.RedisChannels;
+import com.example.__spring_practice_notificationchatmessage.model.NotificationMessage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for notification history.
+ * Entries are flushed by a single writer thread once the batch is full or the flush interval passes,
+ * as one pipeline holding a single LPUSH, LTRIM and EXPIRE per user.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationHistoryWriter {
+
+    public static final String HISTORY_KEY_PREFIX = "notification:history:";
+
+    // queued by stop() to wake a writer blocked in poll; never written
+    private static final Entry WAKE_UP = new Entry(null, null);
+    private static final long STOP_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, byte[]> pubSubTemplate;
+    private final PubSubCodec pubSubCodec;
+    private final NotificationHistoryCache historyCache;
+    private final MessagingProperties messagingProperties;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    private BlockingQueue<Entry> buffer;
+    private Thread writer;
+    private volatile boolean running = true;
+
+    public static String historyKey(String userId) {
+        return HISTORY_KEY_PREFIX + userId;
+    }
+
+    @PostConstruct
+    public void start() {
+        buffer = new ArrayBlockingQueue<>(messagingProperties.getHistory().getBufferCapacity());
+        writer = new Thread(this::run, "notification-history-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Drains whatever is still buffered before the Redis connection goes away.
+    // The writer is only interrupted when the drain overruns, so a pipeline in flight is never cut short.
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        // a full buffer means the writer is busy flushing and sees the flag on its next check
+        buffer.offer(WAKE_UP);
+        writer.join(STOP_TIMEOUT_MILLIS);
+        if (writer.isAlive()) {
+            log.warn("알림 이력 저장 스레드가 {}ms 내에 종료되지 않아 중단합니다", STOP_TIMEOUT_MILLIS);
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(1));
+        }
+        if (!buffer.isEmpty()) {
+            log.warn("종료 시 저장되지 못한 알림 이력: {}건", buffer.size());
+        }
+    }
+
+    // Returns false when the buffer is full and the entry was dropped
+    public boolean append(String userId, NotificationMessage notification) {
+        if (buffer.offer(new Entry(userId, notification))) {
+            return true;
+        }
+        dropped.increment();
+        log.warn("알림 이력 버퍼 초과로 폐기 - 사용자: {}", userId);
+        return false;
+    }
+
+    public Stats snapshot() {
+        return new Stats(buffer.size(), written.sum(), dropped.sum(), failed.sum(), flushes.sum(),
+                lastFlushNanos.get(), maxFlushNanos.get());
+    }
+
+    public record Stats(int backlog, long written, long dropped, long failed, long flushes,
+                        long lastFlushNanos, long maxFlushNanos) {
+    }
+
+    private record Entry(String userId, NotificationMessage notification) {
+    }
+
+    private void run() {
+        MessagingProperties.History settings = messagingProperties.getHistory();
+        List<Entry> batch = new ArrayList<>(settings.getBatchSize());
+        while ((running || !buffer.isEmpty()) && !Thread.currentThread().isInterrupted()) {
+            try {
+                Entry first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // keep collecting until the batch is full or the flush interval has passed
+                long deadline = System.nanoTime() + settings.getFlushInterval().toNanos();
+                while (running && batch.size() < settings.getBatchSize()) {
+                    buffer.drainTo(batch, settings.getBatchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= settings.getBatchSize() || remaining <= 0) {
+                        break;
+                    }
+                    Entry next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                // stop() gave up waiting; flush what was collected and leave the rest to its warning
+                Thread.currentThread().interrupt();
+            }
+            buffer.drainTo(batch, Math.max(0, settings.getBatchSize() - batch.size()));
+            batch.removeIf(entry -> entry == WAKE_UP);
+
+            if (!batch.isEmpty()) {
+                flush(batch, settings);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Entry> batch, MessagingProperties.History settings) {
+        // group per user, keeping arrival order so the newest entry ends up at the head
+        Map<String, List<Object>> byUser = new LinkedHashMap<>();
+        for (Entry entry : batch) {
+            byUser.computeIfAbsent(entry.userId(), k -> new ArrayList<>()).add(entry.notification());
+        }
+
+        long start = System.nanoTime();
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    byUser.forEach((userId, notifications) -> {
+                        String key = historyKey(userId);
+                        ops.opsForList().leftPushAll(key, notifications.toArray());
+                        ops.opsForList().trim(key, 0, settings.getMaxEntries() - 1);
+                        ops.expire(key, settings.getTtl());
+                    });
+                    return null;
+                }
+            });
+            written.add(batch.size());
+            publishChanged(byUser.keySet());
+        } catch (Exception e) {
+            failed.add(batch.size());
+            log.error("알림 이력 저장 실패 - {}건, 사용자: {}명", batch.size(), byUser.size(), e);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        flushes.increment();
+        lastFlushNanos.set(elapsed);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        log.debug("알림 이력 저장 완료 - {}건, 사용자: {}명, 소요: {}us", batch.size(), byUser.size(), elapsed / 1000);
+    }
+
+    // One event per flush tells every node's near-cache which users changed
+    private void publishChanged(Collection<String> userIds) {
+        historyCache.invalidate(userIds);
+        try {
+            pubSubTemplate.convertAndSend(RedisChannels.HISTORY_CHANGED, pubSubCodec.encode(Map.of("userIds", List.copyOf(userIds))));
+        } catch (Exception e) {
+            log.error("알림 이력 변경 이벤트 발행 실패 - 사용자: {}명", userIds.size(), e);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.__spring_practice_notificationchatmessage.service;
+
+import com.example.__spring_practice_notificationchatmessage.codec.PubSubCodec;
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.model.NotificationMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisCallback;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Per-user capped stream of notifications that found no live session anywhere.
+ * Entries hold the pub/sub payload as published. A reconnecting user gets the whole inbox in one
+ * XRANGE, and the entries are deleted by id only after the frame was accepted, so two sessions
+ * draining at once can duplicate a delivery but never lose one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationInbox {
+
+    public static final String INBOX_KEY_PREFIX = "notification:inbox:";
+    private static final byte[] PAYLOAD_FIELD = "m".getBytes(StandardCharsets.UTF_8);
+
+    private final RedisTemplate<String, byte[]> pubSubTemplate;
+    private final PubSubCodec pubSubCodec;
+    private final MessagingProperties messagingProperties;
+
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder drained = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public static String inboxKey(String userId) {
+        return INBOX_KEY_PREFIX + userId;
+    }
+
+    public boolean isEnabled() {
+        return messagingProperties.getInbox().isEnabled();
+    }
+
+    // XADD ... MAXLEN ~ max-entries and EXPIRE in one pipeline; payload is an encoded NotificationMessage
+    public void store(String userId, byte[] payload) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            pubSubTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                append(connection, userId, payload);
+                return null;
+            });
+            log.debug("오프라인 알림 보관 - 사용자: {}", userId);
+        } catch (Exception e) {
+            failed.increment();
+            log.error("오프라인 알림 보관 실패 - 사용자: {}", userId, e);
+        }
+    }
+
+    // Queues the XADD and EXPIRE on a connection the caller is pipelining, e.g. a campaign batch
+    public void append(RedisConnection connection, String userId, byte[] payload) {
+        MessagingProperties.Inbox settings = messagingProperties.getInbox();
+        byte[] key = inboxKey(userId).getBytes(StandardCharsets.UTF_8);
+        XAddOptions options = XAddOptions.maxlen(settings.getMaxEntries()).approximateTrimming(true);
+        connection.streamCommands().xAdd(StreamRecords.newRecord().in(key).ofMap(Map.of(PAYLOAD_FIELD, payload)), options);
+        connection.keyCommands().expire(key, settings.getTtl().toSeconds());
+        stored.increment();
+    }
+
+    /**
+     * Reads the whole inbox and hands it to the sink as one batch, oldest first.
+     * The entries are deleted when the sink returns true and kept for the next connect otherwise.
+     *
+     * @return the number of notifications handed over
+     */
+    public int drain(String userId, Predicate<List<NotificationMessage>> sink) {
+        if (!isEnabled()) {
+            return 0;
+        }
+        byte[] key = inboxKey(userId).getBytes(StandardCharsets.UTF_8);
+        try {
+            List<ByteRecord> records = pubSubTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                    connection.streamCommands().xRange(key, Range.unbounded(),
+                            Limit.limit().count(messagingProperties.getInbox().getMaxEntries())));
+            if (records == null || records.isEmpty()) {
+                return 0;
+            }
+
+            List<NotificationMessage> batch = new ArrayList<>(records.size());
+            RecordId[] ids = new RecordId[records.size()];
+            for (int i = 0; i < records.size(); i++) {
+                ids[i] = records.get(i).getId();
+                NotificationMessage notification = decode(records.get(i));
+                if (notification != null) {
+                    batch.add(notification);
+                }
+            }
+            if (!batch.isEmpty() && !sink.test(batch)) {
+                return 0;
+            }
+
+            // acknowledge what was read; entries stored meanwhile stay for the next connect
+            pubSubTemplate.execute((RedisCallback<Long>) connection -> connection.streamCommands().xDel(key, ids));
+            drained.add(batch.size());
+            log.debug("오프라인 알림 전달 - 사용자: {}, {}건", userId, batch.size());
+            return batch.size();
+        } catch (Exception e) {
+            failed.increment();
+            log.error("오프라인 알림 조회 실패 - 사용자: {}", userId, e);
+            return 0;
+        }
+    }
+
+    public Stats snapshot() {
+        return new Stats(stored.sum(), drained.sum(), failed.sum());
+    }
+
+    public record Stats(long stored, long drained, long failed) {
+    }
+
+    private NotificationMessage decode(ByteRecord record) {
+        try {
+            // one field per entry; byte[] map keys can't be looked up by value
+            for (Map.Entry<byte[], byte[]> field : record.getValue().entrySet()) {
+                return pubSubCodec.decode(field.getValue(), NotificationMessage.class);
+            }
+        } catch (Exception e) {
+            log.error("오프라인 알림 항목 복원 실패 - ID: {}", record.getId().getValue(), e);
+        }
+        return null;
+    }
+}
@@ -1,40 +1,95 @@
 package com.example.__spring_practice_notificationchatmessage.service;
 
+import com.example.__spring_practice_notificationchatmessage.codec.PubSubCodec;
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.listener.RedisChannels;
 import com.example.__spring_practice_notificationchatmessage.model.NotificationMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, byte[]> pubSubTemplate;
+    private final PubSubCodec pubSubCodec;
+    private final NotificationHistoryWriter historyWriter;
+    private final NotificationHistoryCache historyCache;
+    private final MessagingProperties messagingProperties;
+    private final ObjectMapper objectMapper;
+    private final NotificationCoalescer coalescer;
+    private final NotificationInbox inbox;
 
     public void sendNotificationToUser(String userId, NotificationMessage notification) {
+        notification.setUserId(userId);
+        // always published: presence is eventually consistent and reports a just-connected user as offline;
+        // whether anyone received it is decided by the subscriber count in publish()
+        if (coalescer.isEnabled()) {
+            // bursts of the same type become one digest publish
+            coalescer.offer(userId, notification, this::publish);
+        } else {
+            publish(notification);
+        }
+    }
+
+    private void publish(NotificationMessage notification) {
+        String userId = notification.getUserId();
         try {
-            notification.setUserId(userId);
-            String channel = "notification:user:" + userId;
+            notification.setPublishedAt(System.currentTimeMillis());
+            String channel = RedisChannels.user(userId);
 
-            Long subscriberCount = redisTemplate.convertAndSend(channel, notification);
-            log.info("알림 전송 완료 - 사용자: {}, 구독자 수: {}", userId, subscriberCount);
+            byte[] payload = pubSubCodec.encode(notification);
+            Long subscriberCount = pubSubTemplate.convertAndSend(channel, payload);
+            log.debug("알림 전송 완료 - 사용자: {}, 구독자 수: {}", userId, subscriberCount);
+            // no node subscribes to the user channel, so no node has a session for the user
+            if (subscriberCount != null && subscriberCount == 0) {
+                inbox.store(userId, payload);
+            }
 
         } catch (Exception e) {
             log.error("알림 전송 실패 - 사용자: {}", userId, e);
         }
     }
 
+    // Hands everything the user missed to the consumer as one batch; returns the number handed over
+    public int drainInbox(String userId, Predicate<List<NotificationMessage>> consumer) {
+        return inbox.drain(userId, consumer);
+    }
+
+    // Buffered; written to Redis in pipelined batches by NotificationHistoryWriter
     public void saveNotificationHistory(String userId, NotificationMessage notification) {
-        try {
-            String historyKey = "notification:history:" + userId;
-            redisTemplate.opsForList().leftPush(historyKey, notification);
-            redisTemplate.opsForList().trim(historyKey, 0, 99);
-            redisTemplate.expire(historyKey, Duration.ofDays(30));
-        } catch (Exception e) {
-            log.error("알림 이력 저장 실패", e);
+        historyWriter.append(userId, notification);
+    }
+
+    // Newest first; pages are cut from the cached list so only a cache miss reaches Redis
+    public List<NotificationMessage> getNotificationHistory(String userId, int page, int size) {
+        List<NotificationMessage> history = historyCache.get(userId, this::loadHistory);
+
+        int pageSize = Math.max(1, Math.min(size, messagingProperties.getHistory().getMaxEntries()));
+        long from = (long) Math.max(0, page) * pageSize;
+        if (from >= history.size()) {
+            return List.of();
+        }
+        return history.subList((int) from, (int) Math.min(from + pageSize, history.size()));
+    }
+
+    private List<NotificationMessage> loadHistory(String userId) {
+        List<Object> items = redisTemplate.opsForList()
+                .range(NotificationHistoryWriter.historyKey(userId), 0, messagingProperties.getHistory().getMaxEntries() - 1);
+        if (items == null) {
+            return List.of();
         }
+        return items.stream()
+                .map(item -> item instanceof NotificationMessage notification
+                        ? notification
+                        : objectMapper.convertValue(item, NotificationMessage.class))
+                .toList();
     }
 }
@@ -0,0 +1,283 @@
+package com.example.__spring_practice_notificationchatmessage.service;
+
+import com.example.__spring_practice_notificationchatmessage.codec.PubSubCodec;
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.listener.RedisChannels;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Eventually consistent, cluster-wide per-room online counts, as reported in room_joined.
+ * Each node publishes only the room counts that changed locally, batched per flush, plus one heartbeat per interval,
+ * so heartbeat traffic grows with the number of nodes rather than rooms.
+ * The node's counts are mirrored in the presence:node:{nodeId}:rooms hash; peers reload it
+ * whenever they see a node for the first time or detect a gap in its delta sequence.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PresenceService {
+
+    private static final String NODE_KEY_PREFIX = "presence:node:";
+
+    private final RedisTemplate<String, byte[]> pubSubTemplate;
+    private final PubSubCodec pubSubCodec;
+    private final MessagingProperties messagingProperties;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+
+    // local state, as last published
+    private final Map<String, Integer> publishedRooms = new ConcurrentHashMap<>();
+    private final Map<String, IntSupplier> dirtyRooms = new ConcurrentHashMap<>();
+
+    // remote state; written under the nodes lock, read lock-free
+    private final Map<String, NodeView> nodes = new HashMap<>();
+    private final Map<String, Integer> remoteRoomCounts = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return messagingProperties.getPresence().isEnabled();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public int getRoomOnlineCount(String roomId) {
+        return publishedRooms.getOrDefault(roomId, 0) + remoteRoomCounts.getOrDefault(roomId, 0);
+    }
+
+    public void markRoomDirty(String roomId, IntSupplier localMembers) {
+        if (isEnabled()) {
+            dirtyRooms.put(roomId, localMembers);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${messaging.presence.flush-interval-ms:1000}")
+    public void flush() {
+        if (!isEnabled() || dirtyRooms.isEmpty()) {
+            return;
+        }
+
+        Map<String, Integer> rooms = new HashMap<>();
+        Map<String, IntSupplier> flushedRooms = new HashMap<>();
+        Map<String, Integer> previousRooms = new HashMap<>();
+
+        for (Map.Entry<String, IntSupplier> entry : dirtyRooms.entrySet()) {
+            if (!dirtyRooms.remove(entry.getKey(), entry.getValue())) {
+                continue;
+            }
+            flushedRooms.put(entry.getKey(), entry.getValue());
+            int count = entry.getValue().getAsInt();
+            Integer previous = count > 0
+                    ? publishedRooms.put(entry.getKey(), count)
+                    : publishedRooms.remove(entry.getKey());
+            if (previous == null ? count > 0 : previous != count) {
+                rooms.put(entry.getKey(), count);
+                previousRooms.put(entry.getKey(), previous);
+            }
+        }
+        if (rooms.isEmpty()) {
+            return;
+        }
+
+        long seq = sequence.incrementAndGet();
+        try {
+            byte[] event = pubSubCodec.encode(Map.of(
+                    "kind", "delta",
+                    "nodeId", nodeId,
+                    "seq", seq,
+                    "rooms", rooms
+            ));
+            writeDelta(rooms, event);
+            log.debug("프레즌스 변경 발행 - 채팅방: {}개", rooms.size());
+        } catch (Exception e) {
+            // peers will see the sequence gap and resync; roll back and re-mark so the mirror catches up next flush
+            previousRooms.forEach((roomId, previous) -> {
+                if (previous != null) {
+                    publishedRooms.put(roomId, previous);
+                } else {
+                    publishedRooms.remove(roomId);
+                }
+            });
+            flushedRooms.forEach(dirtyRooms::putIfAbsent);
+            log.error("프레즌스 변경 발행 실패", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${messaging.presence.heartbeat-interval-ms:5000}")
+    public void heartbeat() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            byte[] event = pubSubCodec.encode(Map.of("kind", "heartbeat", "nodeId", nodeId, "seq", sequence.get()));
+            long ttl = messagingProperties.getPresence().getNodeTimeout().toSeconds();
+            pubSubTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.keyCommands().expire(roomsKey(nodeId), ttl);
+                connection.publish(bytes(RedisChannels.PRESENCE), event);
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("프레즌스 하트비트 발행 실패", e);
+        }
+        expireSilentNodes();
+    }
+
+    @PreDestroy
+    public void leave() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            byte[] event = pubSubCodec.encode(Map.of("kind", "leave", "nodeId", nodeId, "seq", sequence.get()));
+            pubSubTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.keyCommands().del(roomsKey(nodeId));
+                connection.publish(bytes(RedisChannels.PRESENCE), event);
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("프레즌스 종료 알림 실패", e);
+        }
+    }
+
+    // Applies an event from the presence channel; called on the listener's dispatch partition
+    public void apply(Map<String, Object> event) {
+        String sender = (String) event.get("nodeId");
+        if (sender == null || nodeId.equals(sender)) {
+            return;
+        }
+        String kind = (String) event.get("kind");
+        long seq = ((Number) event.get("seq")).longValue();
+
+        synchronized (nodes) {
+            if ("leave".equals(kind)) {
+                NodeView view = nodes.remove(sender);
+                if (view != null) {
+                    forget(view);
+                }
+                return;
+            }
+
+            NodeView view = nodes.get(sender);
+            boolean inOrder = view != null && ("delta".equals(kind) ? seq == view.seq + 1 : seq == view.seq);
+            if (!inOrder) {
+                // first sight of the node or a missed delta: reload its full state
+                resync(sender, seq);
+                return;
+            }
+            view.lastSeen = System.nanoTime();
+            if ("delta".equals(kind)) {
+                applyDelta(view, event);
+                view.seq = seq;
+            }
+        }
+    }
+
+    private void writeDelta(Map<String, Integer> rooms, byte[] event) {
+        long ttl = messagingProperties.getPresence().getNodeTimeout().toSeconds();
+        byte[] roomsKey = roomsKey(nodeId);
+        pubSubTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            rooms.forEach((roomId, count) -> {
+                if (count > 0) {
+                    connection.hashCommands().hSet(roomsKey, bytes(roomId), bytes(Integer.toString(count)));
+                } else {
+                    connection.hashCommands().hDel(roomsKey, bytes(roomId));
+                }
+            });
+            connection.keyCommands().expire(roomsKey, ttl);
+            connection.publish(bytes(RedisChannels.PRESENCE), event);
+            return null;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void applyDelta(NodeView view, Map<String, Object> event) {
+        ((Map<String, Number>) event.getOrDefault("rooms", Map.of()))
+                .forEach((roomId, count) -> setRoomCount(view, roomId, count.intValue()));
+    }
+
+    private void resync(String sender, long seq) {
+        Map<byte[], byte[]> rooms;
+        try {
+            rooms = pubSubTemplate.execute((RedisCallback<Map<byte[], byte[]>>) connection ->
+                    connection.hashCommands().hGetAll(roomsKey(sender)));
+        } catch (Exception e) {
+            log.error("프레즌스 재동기화 실패 - 노드: {}", sender, e);
+            return;
+        }
+
+        NodeView previous = nodes.remove(sender);
+        if (previous != null) {
+            forget(previous);
+        }
+        NodeView view = new NodeView();
+        view.seq = seq;
+        view.lastSeen = System.nanoTime();
+        if (rooms != null) {
+            rooms.forEach((roomId, count) -> setRoomCount(view,
+                    new String(roomId, StandardCharsets.UTF_8),
+                    Integer.parseInt(new String(count, StandardCharsets.UTF_8))));
+        }
+        nodes.put(sender, view);
+        log.debug("프레즌스 재동기화 완료 - 노드: {}, 채팅방: {}개", sender, view.rooms.size());
+    }
+
+    private void expireSilentNodes() {
+        long timeout = messagingProperties.getPresence().getNodeTimeout().toNanos();
+        long now = System.nanoTime();
+        synchronized (nodes) {
+            nodes.entrySet().removeIf(entry -> {
+                if (now - entry.getValue().lastSeen <= timeout) {
+                    return false;
+                }
+                forget(entry.getValue());
+                log.info("응답 없는 노드 프레즌스 제거 - 노드: {}", entry.getKey());
+                return true;
+            });
+        }
+    }
+
+    // Removes a node's contribution from the aggregated view
+    private void forget(NodeView view) {
+        view.rooms.forEach((roomId, count) -> remoteRoomCounts.computeIfPresent(roomId, (k, n) -> n > count ? n - count : null));
+    }
+
+    private void setRoomCount(NodeView view, String roomId, int count) {
+        Integer previous = count > 0 ? view.rooms.put(roomId, count) : view.rooms.remove(roomId);
+        int delta = count - (previous != null ? previous : 0);
+        if (delta != 0) {
+            remoteRoomCounts.compute(roomId, (k, n) -> {
+                int total = (n != null ? n : 0) + delta;
+                return total > 0 ? total : null;
+            });
+        }
+    }
+
+    private static byte[] roomsKey(String nodeId) {
+        return bytes(NODE_KEY_PREFIX + nodeId + ":rooms");
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static class NodeView {
+        private final Map<String, Integer> rooms = new HashMap<>();
+        private long seq;
+        private long lastSeen;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.__spring_practice_notificationchatmessage.service;
+
+import com.example.__spring_practice_notificationchatmessage.model.ChatMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publishes each room's chat messages from a single writer, in the order they were stamped.
+ * Senders stamp and enqueue under the room's lock and return; a writer task on the executor drains
+ * the room in batches. No lock is held across Redis I/O, and a busy room pays its round trips per
+ * batch instead of per message. A drained room is dropped, so idle rooms cost nothing.
+ */
+@Slf4j
+public class RoomPublishQueue {
+
+    private final SequenceAllocator sequenceAllocator;
+    private final Executor writer;
+    private final int maxBatchSize;
+    private final BatchPublisher publisher;
+    private final Map<String, Room> rooms = new ConcurrentHashMap<>();
+
+    public RoomPublishQueue(SequenceAllocator sequenceAllocator, Executor writer, int maxBatchSize, BatchPublisher publisher) {
+        this.sequenceAllocator = sequenceAllocator;
+        this.writer = writer;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.publisher = publisher;
+    }
+
+    // Stamps the message and queues it behind the room's earlier messages; never blocks on Redis
+    // except for the INCRBY of a new sequence block
+    public void submit(ChatMessage chatMessage) {
+        String roomId = chatMessage.getRoomId();
+        while (true) {
+            Room room = rooms.computeIfAbsent(roomId, Room::new);
+            boolean startWriter;
+            room.lock.lock();
+            try {
+                if (room.closed) {
+                    // the writer dropped this room after draining it; queue on a fresh one
+                    continue;
+                }
+                // a message that could not be stamped is still published, unnumbered
+                sequenceAllocator.stamp(chatMessage);
+                room.pending.addLast(chatMessage);
+                startWriter = !room.draining;
+                room.draining = true;
+            } finally {
+                room.lock.unlock();
+            }
+            if (startWriter) {
+                schedule(room);
+            }
+            return;
+        }
+    }
+
+    public int activeRooms() {
+        return rooms.size();
+    }
+
+    private void schedule(Room room) {
+        try {
+            writer.execute(() -> drain(room));
+        } catch (RejectedExecutionException e) {
+            // shutting down: publish on the caller rather than strand the room
+            drain(room);
+        }
+    }
+
+    private void drain(Room room) {
+        List<ChatMessage> batch = new ArrayList<>(Math.min(maxBatchSize, 64));
+        room.lock.lock();
+        try {
+            while (batch.size() < maxBatchSize && !room.pending.isEmpty()) {
+                batch.add(room.pending.pollFirst());
+            }
+            if (batch.isEmpty()) {
+                close(room);
+                return;
+            }
+        } finally {
+            room.lock.unlock();
+        }
+
+        try {
+            publisher.publish(room.id, batch);
+        } catch (Exception e) {
+            log.error("채팅 메시지 발행 실패 - 방: {}, {}건", room.id, batch.size(), e);
+        }
+
+        room.lock.lock();
+        try {
+            if (room.pending.isEmpty()) {
+                close(room);
+                return;
+            }
+        } finally {
+            room.lock.unlock();
+        }
+        // yield the writer thread to other rooms, then continue
+        schedule(room);
+    }
+
+    // Called with the room's lock held
+    private void close(Room room) {
+        room.draining = false;
+        room.closed = true;
+        rooms.remove(room.id, room);
+    }
+
+    // Sends one room's messages in order; runs on the room's writer, never concurrently for one room
+    @FunctionalInterface
+    public interface BatchPublisher {
+        void publish(String roomId, List<ChatMessage> batch) throws Exception;
+    }
+
+    private static final class Room {
+        private final String id;
+        private final ReentrantLock lock = new ReentrantLock();
+        // guarded by lock
+        private final ArrayDeque<ChatMessage> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Room(String id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.__spring_practice_notificationchatmessage.service;
+
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.model.ChatMessage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stamps chat messages with per-room sequence numbers taken from blocks leased off a Redis counter.
+ * One INCRBY chat:seq:{roomId} block-size reserves the next block-size numbers for this node, so
+ * publishing only pays a round trip once per block. Numbers are unique per room across the cluster
+ * and increase on each node. When several nodes publish to one room their blocks interleave, and the
+ * unused tail of a block (idle lease, restart) is never handed out, so clients only treat a hole
+ * between two numbers of the same block as a lost message. {@link RoomPublishQueue} publishes a room's
+ * messages in stamping order, so a hole is never just a message still in flight.
+ */
+@Component
+@Slf4j
+public class SequenceAllocator {
+
+    public static final String SEQUENCE_KEY_PREFIX = "chat:seq:";
+
+    private final BlockSource blocks;
+    private final MessagingProperties.Sequence settings;
+    private final Cache<String, Lease> leases;
+
+    private final LongAdder allocated = new LongAdder();
+    private final LongAdder leased = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    @Autowired
+    public SequenceAllocator(RedisTemplate<String, byte[]> pubSubTemplate, MessagingProperties messagingProperties) {
+        this((roomId, size) -> {
+            byte[] key = sequenceKey(roomId).getBytes(StandardCharsets.UTF_8);
+            Long end = pubSubTemplate.execute((RedisCallback<Long>) connection -> connection.stringCommands().incrBy(key, size));
+            if (end == null) {
+                throw new IllegalStateException("INCRBY 응답 없음 - 방: " + roomId);
+            }
+            return end;
+        }, messagingProperties);
+    }
+
+    public SequenceAllocator(BlockSource blocks, MessagingProperties messagingProperties) {
+        this.blocks = blocks;
+        this.settings = messagingProperties.getSequence();
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxRooms())
+                .expireAfterAccess(settings.getLeaseIdle())
+                .build();
+    }
+
+    public static String sequenceKey(String roomId) {
+        return SEQUENCE_KEY_PREFIX + roomId;
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    // Sets seq and seqBlock; returns false and leaves both unset when no block could be leased
+    public boolean stamp(ChatMessage chatMessage) {
+        if (!isEnabled()) {
+            return false;
+        }
+        Lease lease = leases.get(chatMessage.getRoomId(), key -> new Lease());
+        // a lock rather than synchronized, so a virtual thread waiting on Redis does not pin its carrier
+        lease.lock.lock();
+        try {
+            return assign(lease, chatMessage);
+        } finally {
+            lease.lock.unlock();
+        }
+    }
+
+    // Called with the lease held
+    private boolean assign(Lease lease, ChatMessage chatMessage) {
+        String roomId = chatMessage.getRoomId();
+        try {
+            if (lease.next > lease.end) {
+                int size = Math.max(1, settings.getBlockSize());
+                // other senders to this room on this node wait for the lease instead of leasing blocks of their own
+                long end = blocks.reserve(roomId, size);
+                lease.start = end - size + 1;
+                lease.next = lease.start;
+                lease.end = end;
+                leased.increment();
+            }
+            chatMessage.setSeqBlock(lease.start);
+            chatMessage.setSeq(lease.next++);
+        } catch (Exception e) {
+            failed.increment();
+            log.error("채팅 시퀀스 할당 실패 - 방: {}", roomId, e);
+            return false;
+        }
+        allocated.increment();
+        return true;
+    }
+
+    public Stats snapshot() {
+        return new Stats(allocated.sum(), leased.sum(), failed.sum(), leases.estimatedSize());
+    }
+
+    /**
+     * @param allocated numbers stamped on messages
+     * @param leased    blocks reserved, i.e. Redis round trips
+     */
+    public record Stats(long allocated, long leased, long failed, long activeLeases) {
+    }
+
+    // Reserves size numbers for the room and returns the last of them, like INCRBY
+    @FunctionalInterface
+    public interface BlockSource {
+        long reserve(String roomId, int size);
+    }
+
+    private static final class Lease {
+        private final ReentrantLock lock = new ReentrantLock();
+        // guarded by lock; next > end means the block is used up
+        private long start;
+        private long next = 1;
+        private long end;
+    }
+}
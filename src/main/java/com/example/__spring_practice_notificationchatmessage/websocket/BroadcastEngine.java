@@ -0,0 +1,69 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.model.DeliveryLane;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Splits the local sessions into fixed-size shards and hands the same frame
+ * to each shard in parallel on the bounded broadcastExecutor.
+ * The call returns once every shard is done, so consecutive broadcasts keep their order per session.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BroadcastEngine {
+
+    private final MessagingProperties messagingProperties;
+    @Qualifier("broadcastExecutor")
+    private final Executor broadcastExecutor;
+
+    public BroadcastResult broadcast(Collection<OutboundSession> sessions, TextMessage frame, DeliveryLane lane) {
+        long start = System.nanoTime();
+        List<OutboundSession> targets = sessions.stream()
+                .filter(OutboundSession::isOpen)
+                .toList();
+        int shardSize = Math.max(1, messagingProperties.getBroadcast().getShardSize());
+
+        if (targets.size() <= shardSize) {
+            int failures = sendShard(targets, frame, lane);
+            return new BroadcastResult(targets.size(), targets.size() - failures, List.of(failures), System.nanoTime() - start);
+        }
+
+        List<CompletableFuture<Integer>> shards = new ArrayList<>();
+        for (int from = 0; from < targets.size(); from += shardSize) {
+            List<OutboundSession> shard = targets.subList(from, Math.min(from + shardSize, targets.size()));
+            shards.add(CompletableFuture.supplyAsync(() -> sendShard(shard, frame, lane), broadcastExecutor));
+        }
+
+        List<Integer> shardFailures = new ArrayList<>(shards.size());
+        int failures = 0;
+        for (CompletableFuture<Integer> shard : shards) {
+            int shardFailure = shard.join();
+            shardFailures.add(shardFailure);
+            failures += shardFailure;
+        }
+        return new BroadcastResult(targets.size(), targets.size() - failures, shardFailures, System.nanoTime() - start);
+    }
+
+    // Returns the number of sessions that did not accept the frame
+    private int sendShard(List<OutboundSession> shard, TextMessage frame, DeliveryLane lane) {
+        int failures = 0;
+        for (OutboundSession session : shard) {
+            if (!session.enqueue(frame, lane)) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+}
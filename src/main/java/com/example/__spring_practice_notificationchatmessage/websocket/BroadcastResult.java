@@ -0,0 +1,22 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import java.util.List;
+
+/**
+ * Outcome of a broadcast to every local session.
+ *
+ * @param sessions      number of sessions targeted
+ * @param sent          number of sessions that accepted the frame
+ * @param shardFailures failed sends per shard, in shard order
+ * @param elapsedNanos  time until the last shard finished
+ */
+public record BroadcastResult(int sessions, int sent, List<Integer> shardFailures, long elapsedNanos) {
+
+    public int failures() {
+        return sessions - sent;
+    }
+
+    public long elapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+}
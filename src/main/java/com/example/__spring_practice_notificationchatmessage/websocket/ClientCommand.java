@@ -0,0 +1,36 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+// Typed inbound client frames, produced by ClientCommandDecoder
+public sealed interface ClientCommand {
+
+    // {"type": "ping"} carries nothing, so one instance serves every frame
+    Ping PING = new Ping();
+
+    record Ping() implements ClientCommand {
+    }
+
+    // {"type": "join_room", "roomId": "room1", "lastSeenId": "1700000000000-0"}
+    record JoinRoom(String roomId, String lastSeenId) implements ClientCommand {
+    }
+
+    // {"type": "leave_room", "roomId": "room1"}
+    record LeaveRoom(String roomId) implements ClientCommand {
+    }
+
+    // {"type": "join_group", "groupId": "admin"}
+    record JoinGroup(String groupId) implements ClientCommand {
+    }
+
+    // {"type": "fetch_gap", "roomId": "room1", "afterId": "1700000000000-0", "fromSeq": 106, "toSeq": 108}
+    // asks for the chat messages numbered fromSeq..toSeq; afterId is the stream id of the message before the hole
+    record FetchGap(String roomId, String afterId, long fromSeq, long toSeq) implements ClientCommand {
+    }
+
+    // {"type": "get_history", "page": 0, "size": 20}
+    record GetHistory(int page, int size) implements ClientCommand {
+    }
+
+    // A frame that was not valid JSON, had no known type or lacked a required field
+    record Rejected(String reason) implements ClientCommand {
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decodes inbound client frames with a streaming JsonParser straight into ClientCommand records.
+ * Fields may arrive in any order; unknown fields are skipped without being materialized,
+ * and anything that is not a single well-formed object of a known type is rejected.
+ */
+@Component
+@Slf4j
+public class ClientCommandDecoder {
+
+    private static final ClientCommand.Rejected OVERSIZED = new ClientCommand.Rejected("프레임 크기 초과");
+    private static final ClientCommand.Rejected MALFORMED = new ClientCommand.Rejected("잘못된 JSON 형식");
+    private static final ClientCommand.Rejected MISSING_TYPE = new ClientCommand.Rejected("메시지 타입이 없습니다");
+    private static final ClientCommand.Rejected UNKNOWN_TYPE = new ClientCommand.Rejected("알 수 없는 메시지 타입");
+    private static final ClientCommand.Rejected MISSING_ROOM_ID = new ClientCommand.Rejected("roomId가 없습니다");
+    private static final ClientCommand.Rejected MISSING_GROUP_ID = new ClientCommand.Rejected("groupId가 없습니다");
+    private static final ClientCommand.Rejected INVALID_SEQ_RANGE = new ClientCommand.Rejected("fromSeq/toSeq가 올바르지 않습니다");
+
+    private final JsonFactory jsonFactory;
+    private final MessagingProperties.Inbound settings;
+
+    private final LongAdder ping = new LongAdder();
+    private final LongAdder joinRoom = new LongAdder();
+    private final LongAdder leaveRoom = new LongAdder();
+    private final LongAdder joinGroup = new LongAdder();
+    private final LongAdder getHistory = new LongAdder();
+    private final LongAdder fetchGap = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public ClientCommandDecoder(ObjectMapper objectMapper, MessagingProperties messagingProperties) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.settings = messagingProperties.getInbound();
+    }
+
+    public ClientCommand decode(String payload) {
+        if (payload.length() > settings.getMaxFrameLength()) {
+            return reject(OVERSIZED);
+        }
+
+        String type = null;
+        String roomId = null;
+        String groupId = null;
+        String lastSeenId = null;
+        String afterId = null;
+        long fromSeq = 0;
+        long toSeq = 0;
+        int page = 0;
+        int size = 20;
+
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return reject(MALFORMED);
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                // field names come from the parser's symbol table, so this does not allocate
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "type" -> type = text(parser, value);
+                    case "roomId" -> roomId = text(parser, value);
+                    case "groupId" -> groupId = text(parser, value);
+                    case "lastSeenId" -> lastSeenId = text(parser, value);
+                    case "afterId" -> afterId = text(parser, value);
+                    case "fromSeq" -> fromSeq = longNumber(parser, value);
+                    case "toSeq" -> toSeq = longNumber(parser, value);
+                    case "page" -> page = number(parser, value, page);
+                    case "size" -> size = number(parser, value, size);
+                    default -> parser.skipChildren();
+                }
+            }
+            // exactly one object and nothing after it
+            if (token != JsonToken.END_OBJECT || parser.nextToken() != null) {
+                return reject(MALFORMED);
+            }
+        } catch (IOException e) {
+            log.debug("클라이언트 메시지 파싱 실패: {}", e.getMessage());
+            return reject(MALFORMED);
+        }
+
+        if (type == null) {
+            return reject(MISSING_TYPE);
+        }
+        switch (type) {
+            case "ping":
+                ping.increment();
+                return ClientCommand.PING;
+            case "join_room":
+                if (roomId == null) {
+                    return reject(MISSING_ROOM_ID);
+                }
+                joinRoom.increment();
+                return new ClientCommand.JoinRoom(roomId, lastSeenId);
+            case "leave_room":
+                if (roomId == null) {
+                    return reject(MISSING_ROOM_ID);
+                }
+                leaveRoom.increment();
+                return new ClientCommand.LeaveRoom(roomId);
+            case "join_group":
+                if (groupId == null) {
+                    return reject(MISSING_GROUP_ID);
+                }
+                joinGroup.increment();
+                return new ClientCommand.JoinGroup(groupId);
+            case "fetch_gap":
+                if (roomId == null) {
+                    return reject(MISSING_ROOM_ID);
+                }
+                if (fromSeq <= 0 || toSeq < fromSeq) {
+                    return reject(INVALID_SEQ_RANGE);
+                }
+                fetchGap.increment();
+                return new ClientCommand.FetchGap(roomId, afterId, fromSeq, toSeq);
+            case "get_history":
+                getHistory.increment();
+                return new ClientCommand.GetHistory(page, size);
+            default:
+                return reject(UNKNOWN_TYPE);
+        }
+    }
+
+    public Stats snapshot() {
+        return new Stats(ping.sum(), joinRoom.sum(), leaveRoom.sum(), joinGroup.sum(), getHistory.sum(), fetchGap.sum(), rejected.sum());
+    }
+
+    public record Stats(long ping, long joinRoom, long leaveRoom, long joinGroup, long getHistory, long fetchGap, long rejected) {
+    }
+
+    private ClientCommand.Rejected reject(ClientCommand.Rejected reason) {
+        rejected.increment();
+        return reason;
+    }
+
+    // Non-string values are skipped and treated as absent
+    private static String text(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    // Non-integer values are treated as absent (0)
+    private static long longNumber(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getValueAsLong(0);
+        }
+        parser.skipChildren();
+        return 0;
+    }
+
+    private static int number(JsonParser parser, JsonToken value, int defaultValue) throws IOException {
+        if (value.isNumeric()) {
+            return parser.getValueAsInt(defaultValue);
+        }
+        parser.skipChildren();
+        return defaultValue;
+    }
+}
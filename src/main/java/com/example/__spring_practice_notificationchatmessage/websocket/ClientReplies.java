@@ -0,0 +1,47 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.web.socket.TextMessage;
+
+// Pre-encoded replies to client commands; constant frames are built once and shared by every session
+final class ClientReplies {
+
+    static final TextMessage PONG = new TextMessage("{\"type\":\"pong\"}");
+
+    private ClientReplies() {
+    }
+
+    static TextMessage rejected(ClientCommand.Rejected rejected) {
+        return new TextMessage(new StringBuilder(64)
+                .append("{\"type\":\"error\",\"message\":\"")
+                .append(quote(rejected.reason()))
+                .append("\"}"));
+    }
+
+    static TextMessage roomJoined(String roomId, int onlineCount) {
+        return new TextMessage(new StringBuilder(96)
+                .append("{\"type\":\"room_joined\",\"roomId\":\"")
+                .append(quote(roomId))
+                .append("\",\"onlineCount\":")
+                .append(onlineCount)
+                .append(",\"message\":\"채팅방에 입장했습니다\"}"));
+    }
+
+    static TextMessage roomLeft(String roomId) {
+        return new TextMessage(new StringBuilder(96)
+                .append("{\"type\":\"room_left\",\"roomId\":\"")
+                .append(quote(roomId))
+                .append("\",\"message\":\"채팅방에서 퇴장했습니다\"}"));
+    }
+
+    static TextMessage groupJoined(String groupId) {
+        return new TextMessage(new StringBuilder(96)
+                .append("{\"type\":\"group_joined\",\"groupId\":\"")
+                .append(quote(groupId))
+                .append("\",\"message\":\"그룹에 참여했습니다\"}"));
+    }
+
+    private static char[] quote(String value) {
+        return JsonStringEncoder.getInstance().quoteAsString(value);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+// A session whose transport pulls frames; sendMessage never blocks and is only called while there is demand
+public interface DemandDrivenSession {
+
+    // whether the transport has requested frames it has not been given yet
+    boolean hasDemand();
+
+    // resume runs whenever the transport requests more frames
+    void onDemand(Runnable resume);
+}
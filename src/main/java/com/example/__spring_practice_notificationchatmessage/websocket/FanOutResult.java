@@ -0,0 +1,13 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+/**
+ * Outcome of a single room/group fan-out.
+ *
+ * @param members  number of members targeted
+ * @param sessions number of open sessions the frame was handed to
+ * @param failures number of sessions where the send failed
+ */
+public record FanOutResult(int members, int sessions, int failures) {
+
+    public static final FanOutResult EMPTY = new FanOutResult(0, 0, 0);
+}
@@ -0,0 +1,107 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interns string ids (users, rooms, groups) to dense int handles, reference counted.
+ * A released handle keeps resolving to its old name and is only reused after a quarantine,
+ * so a reader still iterating an older member snapshot never maps it to a different id.
+ */
+public class IdRegistry {
+
+    private static final long REUSE_AFTER_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final long reuseAfterNanos;
+    private final Map<String, Handle> handles = new ConcurrentHashMap<>();
+    private final ArrayDeque<Freed> freed = new ArrayDeque<>();
+    // written under the registry lock, read lock-free by handle
+    private volatile String[] names = new String[1024];
+    private int next;
+
+    public IdRegistry() {
+        this(REUSE_AFTER_NANOS);
+    }
+
+    // Shorter quarantine for tests
+    IdRegistry(long reuseAfterNanos) {
+        this.reuseAfterNanos = reuseAfterNanos;
+    }
+
+    // Returns the handle for the id, creating it on first use
+    public int acquire(String id) {
+        return handles.compute(id, (k, handle) -> {
+            Handle acquired = handle != null ? handle : new Handle(allocate(k));
+            acquired.refs++;
+            return acquired;
+        }).value;
+    }
+
+    public void release(String id) {
+        handles.computeIfPresent(id, (k, handle) -> {
+            if (--handle.refs > 0) {
+                return handle;
+            }
+            free(handle.value);
+            return null;
+        });
+    }
+
+    // Returns -1 when the id has no handle
+    public int find(String id) {
+        Handle handle = handles.get(id);
+        return handle != null ? handle.value : -1;
+    }
+
+    public String name(int handle) {
+        return names[handle];
+    }
+
+    public int size() {
+        return handles.size();
+    }
+
+    // Retained bytes of the name table; the strings themselves are shared with the callers
+    public long footprintBytes() {
+        return 16L + 4L * names.length + 48L * handles.size();
+    }
+
+    private synchronized int allocate(String id) {
+        Freed head = freed.peekFirst();
+        int handle;
+        if (head != null && System.nanoTime() - head.at() >= reuseAfterNanos) {
+            freed.pollFirst();
+            handle = head.handle();
+        } else {
+            handle = next++;
+        }
+
+        String[] table = names;
+        if (handle >= table.length) {
+            table = Arrays.copyOf(table, table.length * 2);
+        }
+        table[handle] = id;
+        // volatile write publishes the new entry
+        names = table;
+        return handle;
+    }
+
+    private synchronized void free(int handle) {
+        freed.addLast(new Freed(handle, System.nanoTime()));
+    }
+
+    private record Freed(int handle, long at) {
+    }
+
+    private static class Handle {
+        private final int value;
+        private int refs;
+
+        Handle(int value) {
+            this.value = value;
+        }
+    }
+}
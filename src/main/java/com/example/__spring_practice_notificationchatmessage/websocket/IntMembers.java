@@ -0,0 +1,172 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of int handles: a copy-on-write sorted int[] while small, a bitmap once large and dense enough.
+ * Writers must be serialized by the caller (MembershipIndex mutates it inside compute());
+ * readers are lock-free and see either a consistent array snapshot or a weakly consistent bitmap.
+ */
+final class IntMembers {
+
+    private static final int[] EMPTY = new int[0];
+    // array -> bitmap once past this size, if the bitmap is not much larger than the array
+    private static final int PROMOTE_SIZE = 256;
+    // always use a bitmap past this size, copy-on-write gets too expensive
+    private static final int FORCE_BITMAP_SIZE = 8192;
+    // bitmap -> array again when it shrinks below this size
+    private static final int DEMOTE_SIZE = 128;
+
+    // int[] (sorted) or AtomicLongArray (bitmap); a single volatile read gives a consistent view
+    private volatile Object storage = EMPTY;
+    private volatile int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean add(int handle) {
+        Object current = storage;
+        if (current instanceof AtomicLongArray bits) {
+            int word = handle >>> 6;
+            if (word >= bits.length()) {
+                bits = grow(bits, word + 1);
+            }
+            long mask = 1L << handle;
+            long bitsWord = bits.get(word);
+            if ((bitsWord & mask) != 0) {
+                return false;
+            }
+            // writers are serialized, so a plain read-modify-write is enough
+            bits.set(word, bitsWord | mask);
+            size = size + 1;
+            return true;
+        }
+
+        int[] sorted = (int[]) current;
+        int index = Arrays.binarySearch(sorted, handle);
+        if (index >= 0) {
+            return false;
+        }
+        int insertAt = -index - 1;
+        int[] copy = new int[sorted.length + 1];
+        System.arraycopy(sorted, 0, copy, 0, insertAt);
+        copy[insertAt] = handle;
+        System.arraycopy(sorted, insertAt, copy, insertAt + 1, sorted.length - insertAt);
+
+        if (shouldPromote(copy)) {
+            storage = toBitmap(copy);
+        } else {
+            storage = copy;
+        }
+        size = copy.length;
+        return true;
+    }
+
+    boolean remove(int handle) {
+        Object current = storage;
+        if (current instanceof AtomicLongArray bits) {
+            int word = handle >>> 6;
+            long mask = 1L << handle;
+            if (word >= bits.length() || (bits.get(word) & mask) == 0) {
+                return false;
+            }
+            bits.set(word, bits.get(word) & ~mask);
+            size = size - 1;
+            if (size < DEMOTE_SIZE) {
+                storage = toArray(bits, size);
+            }
+            return true;
+        }
+
+        int[] sorted = (int[]) current;
+        int index = Arrays.binarySearch(sorted, handle);
+        if (index < 0) {
+            return false;
+        }
+        int[] copy = sorted.length == 1 ? EMPTY : new int[sorted.length - 1];
+        System.arraycopy(sorted, 0, copy, 0, index);
+        System.arraycopy(sorted, index + 1, copy, index, sorted.length - index - 1);
+        storage = copy;
+        size = copy.length;
+        return true;
+    }
+
+    void forEach(IntConsumer action) {
+        Object current = storage;
+        if (current instanceof AtomicLongArray bits) {
+            for (int i = 0; i < bits.length(); i++) {
+                long word = bits.get(i);
+                while (word != 0) {
+                    action.accept((i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return;
+        }
+        for (int handle : (int[]) current) {
+            action.accept(handle);
+        }
+    }
+
+    boolean isBitmap() {
+        return storage instanceof AtomicLongArray;
+    }
+
+    // Approximate retained bytes, including this object
+    long footprintBytes() {
+        Object current = storage;
+        if (current instanceof AtomicLongArray bits) {
+            return 24 + 16 + 16 + 8L * bits.length();
+        }
+        return 24 + 16 + 4L * ((int[]) current).length;
+    }
+
+    private boolean shouldPromote(int[] sorted) {
+        if (sorted.length < PROMOTE_SIZE) {
+            return false;
+        }
+        if (sorted.length >= FORCE_BITMAP_SIZE) {
+            return true;
+        }
+        long bitmapBytes = 8L * ((sorted[sorted.length - 1] >>> 6) + 1);
+        return bitmapBytes <= 4L * 4L * sorted.length;
+    }
+
+    private AtomicLongArray grow(AtomicLongArray bits, int words) {
+        AtomicLongArray grown = new AtomicLongArray(Math.max(words, bits.length() * 2));
+        for (int i = 0; i < bits.length(); i++) {
+            grown.set(i, bits.get(i));
+        }
+        storage = grown;
+        return grown;
+    }
+
+    private static AtomicLongArray toBitmap(int[] sorted) {
+        AtomicLongArray bits = new AtomicLongArray((sorted[sorted.length - 1] >>> 6) + 1);
+        for (int handle : sorted) {
+            int word = handle >>> 6;
+            bits.set(word, bits.get(word) | (1L << handle));
+        }
+        return bits;
+    }
+
+    private static int[] toArray(AtomicLongArray bits, int size) {
+        int[] sorted = new int[size];
+        int n = 0;
+        for (int i = 0; i < bits.length() && n < size; i++) {
+            long word = bits.get(i);
+            while (word != 0 && n < size) {
+                sorted[n++] = (i << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return n == size ? sorted : Arrays.copyOf(sorted, n);
+    }
+}
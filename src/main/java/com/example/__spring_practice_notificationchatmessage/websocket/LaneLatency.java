@@ -0,0 +1,47 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import com.example.__spring_practice_notificationchatmessage.model.DeliveryLane;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Count, total and max queueing latency per DeliveryLane
+public final class LaneLatency {
+
+    private static final DeliveryLane[] LANES = DeliveryLane.values();
+
+    private final LongAdder[] counts = new LongAdder[LANES.length];
+    private final LongAdder[] totalNanos = new LongAdder[LANES.length];
+    private final AtomicLong[] maxNanos = new AtomicLong[LANES.length];
+
+    public LaneLatency() {
+        for (int i = 0; i < LANES.length; i++) {
+            counts[i] = new LongAdder();
+            totalNanos[i] = new LongAdder();
+            maxNanos[i] = new AtomicLong();
+        }
+    }
+
+    public void record(DeliveryLane lane, long nanos) {
+        int i = lane.ordinal();
+        counts[i].increment();
+        totalNanos[i].add(nanos);
+        if (nanos > maxNanos[i].get()) {
+            maxNanos[i].accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    public Map<DeliveryLane, Summary> snapshot() {
+        Map<DeliveryLane, Summary> snapshot = new EnumMap<>(DeliveryLane.class);
+        for (DeliveryLane lane : LANES) {
+            int i = lane.ordinal();
+            snapshot.put(lane, new Summary(counts[i].sum(), totalNanos[i].sum(), maxNanos[i].get()));
+        }
+        return snapshot;
+    }
+
+    public record Summary(long count, long totalNanos, long maxNanos) {
+    }
+}
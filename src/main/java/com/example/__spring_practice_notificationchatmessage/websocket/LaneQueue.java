@@ -0,0 +1,81 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import com.example.__spring_practice_notificationchatmessage.model.DeliveryLane;
+
+import java.util.ArrayDeque;
+
+/**
+ * One FIFO per DeliveryLane, served highest lane first. A lane that has been passed over
+ * starvationLimit times while holding items gets the next turn, so lower lanes slow down
+ * under pressure but always make progress. Not thread-safe; the owner guards it.
+ */
+public final class LaneQueue<T> {
+
+    private static final DeliveryLane[] LANES = DeliveryLane.values();
+
+    private final ArrayDeque<T>[] lanes;
+    private final int[] skipped = new int[LANES.length];
+    private final int starvationLimit;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public LaneQueue(int starvationLimit) {
+        this.starvationLimit = Math.max(1, starvationLimit);
+        this.lanes = new ArrayDeque[LANES.length];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ArrayDeque<>();
+        }
+    }
+
+    public void addLast(DeliveryLane lane, T item) {
+        lanes[lane.ordinal()].addLast(item);
+        size++;
+    }
+
+    // Next item in service order, or null when empty
+    public T pollFirst() {
+        if (size == 0) {
+            return null;
+        }
+        int served = -1;
+        for (int i = 0; i < lanes.length; i++) {
+            if (lanes[i].isEmpty()) {
+                continue;
+            }
+            if (served < 0) {
+                served = i;
+            } else if (++skipped[i] > starvationLimit) {
+                // a starved lower lane takes this turn
+                served = i;
+                break;
+            }
+        }
+        skipped[served] = 0;
+        size--;
+        return lanes[served].pollFirst();
+    }
+
+    // Oldest item of the lowest non-empty lane at or below the given lane, or null when there is none
+    public T pollLowest(DeliveryLane floor) {
+        for (int i = lanes.length - 1; i >= floor.ordinal(); i--) {
+            T item = lanes[i].pollFirst();
+            if (item != null) {
+                size--;
+                return item;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int size(DeliveryLane lane) {
+        return lanes[lane.ordinal()].size();
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
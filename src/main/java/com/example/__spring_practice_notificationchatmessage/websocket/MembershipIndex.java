@@ -0,0 +1,170 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Two-way membership index (room/group -> users and user -> rooms/groups).
+ * Users and keys are interned to int handles and each side holds a compact IntMembers set,
+ * so a membership costs a few bytes instead of a boxed node in a per-key ConcurrentHashMap.
+ * Every update for a user runs inside that user's compute() on the reverse map,
+ * and empty member sets are dropped inside compute() on the forward map,
+ * so a concurrent join can never add to a set that was just reclaimed.
+ */
+public class MembershipIndex {
+
+    // CHM node plus the Entry object, per map entry
+    private static final int ENTRY_OVERHEAD_BYTES = 32 + 24;
+
+    // shared with the other index and the sessions, so a user has one handle on this node
+    private final IdRegistry userIds;
+    private final IdRegistry keyIds = new IdRegistry();
+    private final Map<String, Entry> members = new ConcurrentHashMap<>();
+    private final Map<String, Entry> memberships = new ConcurrentHashMap<>();
+
+    public MembershipIndex(IdRegistry userIds) {
+        this.userIds = userIds;
+    }
+
+    // Returns true when the key gained its first member
+    public boolean add(String userId, String key) {
+        boolean[] created = {false};
+        memberships.compute(userId, (user, joined) -> {
+            Entry entry = joined != null ? joined : new Entry(userIds.acquire(user));
+            Entry keyEntry = members.compute(key, (k, users) -> {
+                if (users == null) {
+                    users = new Entry(keyIds.acquire(k));
+                    created[0] = true;
+                }
+                users.set.add(entry.handle);
+                return users;
+            });
+            entry.set.add(keyEntry.handle);
+            return entry;
+        });
+        return created[0];
+    }
+
+    // Returns true when the key lost its last member and was reclaimed
+    public boolean remove(String userId, String key) {
+        boolean[] reclaimed = {false};
+        memberships.computeIfPresent(userId, (user, joined) -> {
+            // the key has at least this member, so its handle is still live
+            int keyHandle = keyIds.find(key);
+            if (keyHandle >= 0 && joined.set.remove(keyHandle)) {
+                reclaimed[0] = removeMember(key, joined.handle);
+            }
+            if (joined.set.isEmpty()) {
+                userIds.release(user);
+                return null;
+            }
+            return joined;
+        });
+        return reclaimed[0];
+    }
+
+    // Removes the user everywhere in O(memberships of that user); returns the reclaimed keys
+    public List<String> removeAll(String userId) {
+        List<String> reclaimed = new ArrayList<>();
+        memberships.computeIfPresent(userId, (user, joined) -> {
+            joined.set.forEach(keyHandle -> {
+                String key = keyIds.name(keyHandle);
+                if (removeMember(key, joined.handle)) {
+                    reclaimed.add(key);
+                }
+            });
+            userIds.release(user);
+            return null;
+        });
+        return reclaimed;
+    }
+
+    // Weakly consistent, like iterating a concurrent set; nothing is copied
+    public void forEachMember(String key, Consumer<String> action) {
+        Entry users = members.get(key);
+        if (users != null) {
+            users.set.forEach(handle -> action.accept(userIds.name(handle)));
+        }
+    }
+
+    public int memberCount(String key) {
+        Entry users = members.get(key);
+        return users != null ? users.set.size() : 0;
+    }
+
+    public boolean hasMembers(String key) {
+        return memberCount(key) > 0;
+    }
+
+    public List<String> memberships(String userId) {
+        Entry joined = memberships.get(userId);
+        if (joined == null) {
+            return List.of();
+        }
+        List<String> keys = new ArrayList<>(joined.set.size());
+        joined.set.forEach(handle -> keys.add(keyIds.name(handle)));
+        return keys;
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    // Estimated heap held by this index; the id strings themselves are shared and not counted
+    public MemoryReport memoryReport() {
+        long total = 0;
+        int bitmaps = 0;
+        for (Entry entry : members.values()) {
+            total += entry.set.size();
+            bitmaps += entry.set.isBitmap() ? 1 : 0;
+        }
+        long bytes = footprint(members) + footprint(memberships) + keyIds.footprintBytes();
+        return new MemoryReport(members.size(), memberships.size(), total, bitmaps, bytes);
+    }
+
+    /**
+     * @param bitmapSets number of keys whose member set is stored as a bitmap
+     * @param bytes      estimated bytes for both directions, including the key handle table
+     */
+    public record MemoryReport(int keys, int users, long memberships, int bitmapSets, long bytes) {
+
+        public double bytesPerMembership() {
+            return memberships == 0 ? 0 : (double) bytes / memberships;
+        }
+    }
+
+    private boolean removeMember(String key, int userHandle) {
+        boolean[] reclaimed = {false};
+        members.computeIfPresent(key, (k, users) -> {
+            users.set.remove(userHandle);
+            if (users.set.isEmpty()) {
+                keyIds.release(k);
+                reclaimed[0] = true;
+                return null;
+            }
+            return users;
+        });
+        return reclaimed[0];
+    }
+
+    private static long footprint(Map<String, Entry> map) {
+        long bytes = 0;
+        for (Entry entry : map.values()) {
+            bytes += ENTRY_OVERHEAD_BYTES + entry.set.footprintBytes();
+        }
+        return bytes;
+    }
+
+    // Handle of the map key plus the handles on the other side
+    private static final class Entry {
+        private final int handle;
+        private final IntMembers set = new IntMembers();
+
+        Entry(int handle) {
+            this.handle = handle;
+        }
+    }
+}
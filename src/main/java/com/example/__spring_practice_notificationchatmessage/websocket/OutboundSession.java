@@ -0,0 +1,290 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.model.DeliveryLane;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Bounded outbound queue for one WebSocket session.
+ * Callers only enqueue; a writer task on the shared executor drains the queue,
+ * so at most one thread is ever sending on the session and a slow client
+ * never blocks the thread that produced the message.
+ * Frames wait in per-priority lanes, so an urgent notification overtakes queued chat traffic.
+ * For a {@link DemandDrivenSession} the writer only hands over as many frames as the transport
+ * requested; the rest stay in the lanes, where the overflow policy and send timeout still apply.
+ */
+@Slf4j
+public class OutboundSession {
+
+    private final WebSocketSession session;
+    private final MessagingProperties.Outbound settings;
+    private final Executor writer;
+    // closes run here: the writers may all be blocked in sendMessage when a session is evicted
+    private final Executor closer;
+    private final OutboundStats stats;
+    // client asked for room messages as batched array frames
+    private final boolean batching;
+
+    private final LaneQueue<Queued> queue;
+    private long queuedBytes;
+    private boolean draining;
+
+    private volatile boolean evicted;
+    private volatile boolean sending;
+    private volatile long sendStartedAt;
+    // non-zero while frames wait for transport demand
+    private volatile long stalledSince;
+
+    public OutboundSession(WebSocketSession session, MessagingProperties.Outbound settings,
+                           Executor writer, Executor closer, OutboundStats stats, boolean batching) {
+        this.session = session;
+        this.settings = settings;
+        this.writer = writer;
+        this.closer = closer;
+        this.stats = stats;
+        this.batching = batching;
+        this.queue = new LaneQueue<>(settings.getStarvationLimit());
+        if (session instanceof DemandDrivenSession demandDriven) {
+            demandDriven.onDemand(this::resume);
+        }
+    }
+
+    public String getId() {
+        return session.getId();
+    }
+
+    public WebSocketSession getSession() {
+        return session;
+    }
+
+    public boolean isBatching() {
+        return batching;
+    }
+
+    public boolean isOpen() {
+        return !evicted && session.isOpen();
+    }
+
+    public synchronized int getQueuedFrames() {
+        return queue.size();
+    }
+
+    // Returns false when the frame was not accepted (dropped, evicted or closed)
+    public boolean enqueue(TextMessage frame, DeliveryLane lane) {
+        if (!isOpen()) {
+            return false;
+        }
+        if (isSendTimedOut()) {
+            evict("전송 시간 초과");
+            return false;
+        }
+
+        int length = frame.getPayloadLength();
+        boolean startWriter;
+        synchronized (this) {
+            if (evicted) {
+                return false;
+            }
+            if (length > settings.getMaxQueuedBytes()) {
+                // could never fit, so it must not cost the queued frames their place
+                stats.dropped();
+                return false;
+            }
+            if (!hasRoomFor(length)) {
+                switch (settings.getOverflowPolicy()) {
+                    case DROP_NEWEST -> {
+                        stats.dropped();
+                        return false;
+                    }
+                    case DROP_OLDEST -> {
+                        // evict from the lowest lane first, never a frame that outranks the new one
+                        Queued oldest;
+                        while (!hasRoomFor(length) && (oldest = queue.pollLowest(lane)) != null) {
+                            queuedBytes -= oldest.length();
+                            stats.dequeued(oldest.length());
+                            stats.dropped();
+                        }
+                        if (!hasRoomFor(length)) {
+                            // only higher lanes left
+                            stats.dropped();
+                            return false;
+                        }
+                    }
+                    case CLOSE -> {
+                        evict("송신 대기열 초과");
+                        return false;
+                    }
+                }
+            }
+            queue.addLast(lane, new Queued(frame, lane, System.nanoTime()));
+            queuedBytes += length;
+            stats.queued(length);
+            startWriter = !draining && canWrite();
+            if (startWriter) {
+                draining = true;
+            } else if (!draining) {
+                // without transport demand the frame waits for resume()
+                markStalled();
+            }
+        }
+
+        if (startWriter) {
+            schedule();
+        }
+        return true;
+    }
+
+    // Evicts the session once a send or a demand stall has outlasted the send timeout.
+    // enqueue() checks this too, but a session stuck in sendMessage may never see another frame.
+    public boolean checkSendTimeout() {
+        if (evicted || !isSendTimedOut()) {
+            return false;
+        }
+        evict("전송 시간 초과");
+        return true;
+    }
+
+    // Discards anything still queued; called when the connection is gone
+    public void discard() {
+        evicted = true;
+        clearQueue();
+    }
+
+    private boolean hasRoomFor(int length) {
+        return queue.size() < settings.getMaxQueuedFrames()
+                && queuedBytes + length <= settings.getMaxQueuedBytes();
+    }
+
+    private boolean isSendTimedOut() {
+        long timeout = settings.getSendTimeout().toNanos();
+        long stalled = stalledSince;
+        return sending && System.nanoTime() - sendStartedAt > timeout
+                || stalled != 0 && System.nanoTime() - stalled > timeout;
+    }
+
+    private boolean canWrite() {
+        return !(session instanceof DemandDrivenSession demandDriven) || demandDriven.hasDemand();
+    }
+
+    // Keeps the start of the stall, so frames arriving meanwhile don't reset the send timeout
+    private void markStalled() {
+        if (stalledSince == 0) {
+            stalledSince = System.nanoTime();
+        }
+    }
+
+    // Called by a demand-driven transport when it requests more frames
+    private void resume() {
+        stalledSince = 0;
+        synchronized (this) {
+            if (draining || evicted || queue.isEmpty()) {
+                return;
+            }
+            draining = true;
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        try {
+            writer.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                draining = false;
+            }
+            log.warn("송신 작업 예약 실패 - 세션ID: {}", session.getId());
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < settings.getDrainBatchSize(); i++) {
+            Queued next;
+            synchronized (this) {
+                if (!queue.isEmpty() && !canWrite()) {
+                    // resume() restarts the writer once the transport asks for more
+                    markStalled();
+                    draining = false;
+                    return;
+                }
+                next = queue.pollFirst();
+                if (next == null) {
+                    draining = false;
+                    return;
+                }
+                queuedBytes -= next.length();
+            }
+            stats.dequeued(next.length());
+            if (send(next.frame())) {
+                stats.delivered(next.lane(), System.nanoTime() - next.enqueuedAt());
+            }
+        }
+        // yield the writer thread to other sessions, then continue
+        schedule();
+    }
+
+    private boolean send(TextMessage frame) {
+        if (!isOpen()) {
+            return false;
+        }
+        sendStartedAt = System.nanoTime();
+        sending = true;
+        try {
+            session.sendMessage(frame);
+            stats.sent(System.nanoTime() - sendStartedAt);
+            return true;
+        } catch (Exception e) {
+            stats.sendFailed();
+            log.error("메시지 전송 실패 - 세션ID: {}", session.getId(), e);
+            return false;
+        } finally {
+            sending = false;
+        }
+    }
+
+    private void evict(String reason) {
+        synchronized (this) {
+            if (evicted) {
+                return;
+            }
+            evicted = true;
+            clearQueue();
+        }
+        stats.evicted();
+        log.warn("느린 클라이언트 세션 종료 - 세션ID: {}, 사유: {}", session.getId(), reason);
+
+        try {
+            closer.execute(this::closeQuietly);
+        } catch (RejectedExecutionException e) {
+            closeQuietly();
+        }
+    }
+
+    private synchronized void clearQueue() {
+        Queued queued;
+        while ((queued = queue.pollFirst()) != null) {
+            stats.dequeued(queued.length());
+        }
+        queuedBytes = 0;
+    }
+
+    private void closeQuietly() {
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (Exception e) {
+            log.debug("세션 종료 실패 - 세션ID: {}", session.getId(), e);
+        }
+    }
+
+    private record Queued(TextMessage frame, DeliveryLane lane, long enqueuedAt) {
+
+        int length() {
+            return frame.getPayloadLength();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import com.example.__spring_practice_notificationchatmessage.model.DeliveryLane;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters shared by every OutboundSession on this node
+@Component
+public class OutboundStats {
+
+    private final AtomicLong queuedFrames = new AtomicLong();
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder sendNanos = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    // enqueue to socket write completed, per lane
+    private final LaneLatency laneLatency = new LaneLatency();
+
+    void queued(int bytes) {
+        queuedFrames.incrementAndGet();
+        queuedBytes.addAndGet(bytes);
+    }
+
+    void dequeued(int bytes) {
+        queuedFrames.decrementAndGet();
+        queuedBytes.addAndGet(-bytes);
+    }
+
+    void sent(long elapsedNanos) {
+        sent.increment();
+        sendNanos.add(elapsedNanos);
+    }
+
+    void delivered(DeliveryLane lane, long latencyNanos) {
+        laneLatency.record(lane, latencyNanos);
+    }
+
+    void dropped() {
+        dropped.increment();
+    }
+
+    void sendFailed() {
+        sendFailures.increment();
+    }
+
+    void evicted() {
+        evictions.increment();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(queuedFrames.get(), queuedBytes.get(), sent.sum(), sendNanos.sum(), dropped.sum(),
+                sendFailures.sum(), evictions.sum(), laneLatency.snapshot());
+    }
+
+    public record Snapshot(long queuedFrames, long queuedBytes, long sent, long sendNanos, long dropped,
+                           long sendFailures, long evictions, Map<DeliveryLane, LaneLatency.Summary> lanes) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+// What a session's outbound queue does when a new frame would exceed its limits
+public enum OverflowPolicy {
+    // reject the new frame, keep the backlog
+    DROP_NEWEST,
+    // discard the oldest queued frames until the new one fits
+    DROP_OLDEST,
+    // treat the client as too slow and close the session
+    CLOSE
+}
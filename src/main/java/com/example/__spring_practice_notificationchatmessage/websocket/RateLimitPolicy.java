@@ -0,0 +1,11 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+// What happens to traffic that finds its token bucket empty
+public enum RateLimitPolicy {
+    // discard the frame or message
+    DROP,
+    // wait for the next token, up to the configured max delay, then drop
+    DELAY,
+    // close the offending session; inbound only, rooms fall back to DROP
+    DISCONNECT
+}
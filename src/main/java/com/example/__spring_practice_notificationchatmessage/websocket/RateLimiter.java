@@ -0,0 +1,172 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token-bucket limits on the two places one client can multiply load: frames a user sends in,
+ * and messages fanned out to a room. Buckets live in concurrent maps keyed by user/room id and are
+ * updated with a single CAS, so there is no lock shared between users or rooms.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    private final MessagingProperties.RateLimit settings;
+    private final Map<String, TokenBucket> users = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> rooms = new ConcurrentHashMap<>();
+    // rooms with delayed messages not yet fanned out, and how many
+    private final Map<String, Integer> delayedRooms = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    private final LongAdder userThrottled = new LongAdder();
+    private final LongAdder roomThrottled = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder delayNanos = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder disconnected = new LongAdder();
+
+    public RateLimiter(MessagingProperties messagingProperties) {
+        this.settings = messagingProperties.getRateLimit();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "room-rate-limit");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Delayed room messages still waiting are discarded; they remain in the room stream
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public enum Verdict {
+        PASS,
+        DROP,
+        DISCONNECT
+    }
+
+    // One inbound client frame from the user; DELAY parks the thread handling this session's frames
+    public Verdict acquireInbound(String userId) {
+        MessagingProperties.Limit limit = settings.getInbound();
+        long wait = reserve(users, userId, limit, userThrottled);
+        if (wait >= 0) {
+            // the token is already reserved, so waiting out the interval keeps the rate exact
+            long deadline = System.nanoTime() + wait;
+            for (long remaining = wait; remaining > 0; remaining = deadline - System.nanoTime()) {
+                LockSupport.parkNanos(remaining);
+            }
+            return Verdict.PASS;
+        }
+        if (limit.getPolicy() == RateLimitPolicy.DISCONNECT) {
+            disconnected.increment();
+            return Verdict.DISCONNECT;
+        }
+        dropped.increment();
+        return Verdict.DROP;
+    }
+
+    /**
+     * One message fanned out to the room's local members. A conforming message runs fanOut on the caller.
+     * Under DELAY a throttled one is handed to the limiter's scheduler instead of parking the caller, which
+     * is a dispatch partition shared with other rooms and users. Later messages of the room follow it
+     * through the scheduler until it has caught up, so the room's order holds; this relies on one room's
+     * messages arriving from one thread at a time, as the keyed dispatch guarantees.
+     *
+     * @return false when the message was dropped
+     */
+    public boolean submitRoom(String roomId, Runnable fanOut) {
+        long wait = reserve(rooms, roomId, settings.getRoom(), roomThrottled);
+        if (wait < 0) {
+            dropped.increment();
+            return false;
+        }
+        if (wait == 0 && !delayedRooms.containsKey(roomId)) {
+            fanOut.run();
+            return true;
+        }
+        delayedRooms.merge(roomId, 1, Integer::sum);
+        try {
+            // equal deadlines run in submission order, and a room's deadlines never decrease
+            scheduler.schedule(() -> {
+                try {
+                    fanOut.run();
+                } catch (Exception e) {
+                    log.error("지연된 채팅방 전송 실패 - 방: {}", roomId, e);
+                } finally {
+                    delayedRoomDone(roomId);
+                }
+            }, wait, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            delayedRoomDone(roomId);
+            dropped.increment();
+            return false;
+        }
+    }
+
+    // A full bucket is indistinguishable from a new one, so idle users and rooms cost nothing.
+    // A caller still holding an evicted bucket spends one token on it at most.
+    @Scheduled(fixedDelayString = "${messaging.rate-limit.cleanup-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        users.values().removeIf(bucket -> bucket.isFull(now));
+        rooms.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    public Stats snapshot() {
+        return new Stats(userThrottled.sum(), roomThrottled.sum(), delayed.sum(), delayNanos.sum(),
+                dropped.sum(), disconnected.sum(), users.size(), rooms.size());
+    }
+
+    // 0 to pass now, the nanos to wait under DELAY, or -1 when the message is rejected
+    private long reserve(Map<String, TokenBucket> buckets, String key, MessagingProperties.Limit limit, LongAdder throttled) {
+        if (!settings.isEnabled()) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(limit.getPermitsPerSecond(), limit.getBurst(), now));
+        }
+
+        long maxWait = limit.getPolicy() == RateLimitPolicy.DELAY ? limit.getMaxDelay().toNanos() : 0;
+        long wait = bucket.reserve(now, maxWait);
+        if (wait == 0) {
+            return 0;
+        }
+        throttled.increment();
+        if (wait > 0) {
+            delayed.increment();
+            delayNanos.add(wait);
+        }
+        return wait;
+    }
+
+    private void delayedRoomDone(String roomId) {
+        delayedRooms.computeIfPresent(roomId, (k, pending) -> pending == 1 ? null : pending - 1);
+    }
+
+    /**
+     * @param userThrottled inbound frames that found the user's bucket empty
+     * @param roomThrottled room messages that found the room's bucket empty
+     * @param delayNanos    total time DELAY frames and room messages waited for a token
+     * @param dropped       frames and messages discarded, including delays that would exceed max-delay
+     */
+    public record Stats(long userThrottled, long roomThrottled, long delayed, long delayNanos,
+                        long dropped, long disconnected, int userBuckets, int roomBuckets) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.socket.HandshakeInfo;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Presents a Reactor Netty session as the WebSocketSession the WebSocketHandler works with,
+ * so both transports share the same connection, command and delivery code.
+ * Outbound frames leave through {@link #frames()}, which only emits what Netty requested;
+ * OutboundSession keeps everything else in its lanes until the next request.
+ */
+class ReactiveSessionAdapter implements WebSocketSession, DemandDrivenSession {
+
+    private final org.springframework.web.reactive.socket.WebSocketSession session;
+    private final HandshakeInfo handshake;
+    private final Flux<org.springframework.web.reactive.socket.WebSocketMessage> frames;
+    private volatile FluxSink<org.springframework.web.reactive.socket.WebSocketMessage> sink;
+    private volatile Runnable resume;
+
+    ReactiveSessionAdapter(org.springframework.web.reactive.socket.WebSocketSession session) {
+        this.session = session;
+        this.handshake = session.getHandshakeInfo();
+        this.frames = Flux.create(sink -> {
+            this.sink = sink;
+            // also called at once for requests made before the consumer was attached
+            sink.onRequest(n -> {
+                Runnable listener = resume;
+                if (listener != null) {
+                    listener.run();
+                }
+            });
+        });
+    }
+
+    // Subscribed once, by session.send
+    Flux<org.springframework.web.reactive.socket.WebSocketMessage> frames() {
+        return frames;
+    }
+
+    // Ends the outbound flux once the inbound side is done
+    void complete() {
+        FluxSink<org.springframework.web.reactive.socket.WebSocketMessage> current = sink;
+        if (current != null) {
+            current.complete();
+        }
+    }
+
+    @Override
+    public boolean hasDemand() {
+        FluxSink<org.springframework.web.reactive.socket.WebSocketMessage> current = sink;
+        return current != null && current.requestedFromDownstream() > 0;
+    }
+
+    @Override
+    public void onDemand(Runnable resume) {
+        this.resume = resume;
+    }
+
+    // Wraps the frame's UTF-8 bytes without copying; sessions of a fan-out share one array
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        FluxSink<org.springframework.web.reactive.socket.WebSocketMessage> current = sink;
+        if (current == null || current.isCancelled()) {
+            throw new IOException("송신 스트림 없음 - 세션ID: " + session.getId());
+        }
+        if (!(message instanceof TextMessage text)) {
+            throw new IOException("지원하지 않는 메시지 타입: " + message.getClass().getSimpleName());
+        }
+        current.next(new org.springframework.web.reactive.socket.WebSocketMessage(
+                org.springframework.web.reactive.socket.WebSocketMessage.Type.TEXT,
+                session.bufferFactory().wrap(text.asBytes())));
+    }
+
+    @Override
+    public String getId() {
+        return session.getId();
+    }
+
+    @Override
+    public URI getUri() {
+        return handshake.getUri();
+    }
+
+    @Override
+    public HttpHeaders getHandshakeHeaders() {
+        return handshake.getHeaders();
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return session.getAttributes();
+    }
+
+    // only available as a Mono on this transport; the handler identifies users by the userId parameter
+    @Override
+    public Principal getPrincipal() {
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return handshake.getRemoteAddress();
+    }
+
+    @Override
+    public String getAcceptedProtocol() {
+        return handshake.getSubProtocol();
+    }
+
+    // frame size limits are set on the Reactor Netty server, not per session
+    @Override
+    public void setTextMessageSizeLimit(int messageSizeLimit) {
+    }
+
+    @Override
+    public int getTextMessageSizeLimit() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+    }
+
+    @Override
+    public int getBinaryMessageSizeLimit() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public List<WebSocketExtension> getExtensions() {
+        return List.of();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return session.isOpen();
+    }
+
+    @Override
+    public void close() {
+        close(CloseStatus.NORMAL);
+    }
+
+    @Override
+    public void close(CloseStatus status) {
+        session.close(new org.springframework.web.reactive.socket.CloseStatus(status.getCode(), status.getReason())).subscribe();
+    }
+}
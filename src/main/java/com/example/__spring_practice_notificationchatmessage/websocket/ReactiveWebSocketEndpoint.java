@@ -0,0 +1,97 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactor Netty entry point for /ws/chat and /ws/notifications.
+ * Every connection is handed to the same WebSocketHandler as on the servlet stack, so the client
+ * protocol and sendToUser/sendToRoom/broadcast behave identically. Inbound frames are handled in order
+ * off the event loop, since commands such as history or replay read Redis; outbound frames are pulled
+ * by Netty from the session's OutboundSession as the socket drains.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveWebSocketEndpoint implements org.springframework.web.reactive.socket.WebSocketHandler {
+
+    private final WebSocketHandler webSocketHandler;
+    private final Scheduler inboundScheduler = Schedulers.boundedElastic();
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        ReactiveSessionAdapter adapter = new ReactiveSessionAdapter(session);
+
+        Mono<Void> opened = Mono.<Void>fromRunnable(() -> established(adapter))
+                .subscribeOn(inboundScheduler);
+        Mono<Void> inbound = session.receive()
+                .filter(message -> message.getType() == WebSocketMessage.Type.TEXT
+                        || message.getType() == WebSocketMessage.Type.BINARY)
+                .map(ReactiveWebSocketEndpoint::toMessage)
+                .publishOn(inboundScheduler)
+                .doOnNext(message -> received(adapter, message))
+                .doFinally(signal -> adapter.complete())
+                .then();
+        Mono<Void> outbound = session.send(adapter.frames());
+
+        return opened
+                .then(Mono.when(inbound, outbound))
+                .doOnError(error -> transportError(adapter, error))
+                .doFinally(signal -> closed(adapter, signal))
+                .onErrorResume(error -> Mono.empty());
+    }
+
+    // Copies the payload out, so the pooled buffer is released when this returns
+    private static org.springframework.web.socket.WebSocketMessage<?> toMessage(WebSocketMessage message) {
+        if (message.getType() == WebSocketMessage.Type.TEXT) {
+            return new TextMessage(message.getPayloadAsText());
+        }
+        DataBuffer payload = message.getPayload();
+        byte[] bytes = new byte[payload.readableByteCount()];
+        payload.read(bytes);
+        return new BinaryMessage(bytes);
+    }
+
+    private void established(ReactiveSessionAdapter session) {
+        try {
+            webSocketHandler.afterConnectionEstablished(session);
+        } catch (Exception e) {
+            log.error("WebSocket 연결 처리 실패 - 세션ID: {}", session.getId(), e);
+            session.close(CloseStatus.SERVER_ERROR);
+        }
+    }
+
+    private void received(ReactiveSessionAdapter session, org.springframework.web.socket.WebSocketMessage<?> message) {
+        try {
+            webSocketHandler.handleMessage(session, message);
+        } catch (Exception e) {
+            log.error("WebSocket 메시지 처리 실패 - 세션ID: {}", session.getId(), e);
+        }
+    }
+
+    private void transportError(ReactiveSessionAdapter session, Throwable error) {
+        try {
+            webSocketHandler.handleTransportError(session, error);
+        } catch (Exception e) {
+            log.debug("전송 오류 처리 실패 - 세션ID: {}", session.getId(), e);
+        }
+    }
+
+    private void closed(ReactiveSessionAdapter session, SignalType signal) {
+        CloseStatus status = signal == SignalType.ON_ERROR ? CloseStatus.SERVER_ERROR : CloseStatus.NORMAL;
+        try {
+            webSocketHandler.afterConnectionClosed(session, status);
+        } catch (Exception e) {
+            log.error("WebSocket 종료 처리 실패 - 세션ID: {}", session.getId(), e);
+        }
+    }
+}
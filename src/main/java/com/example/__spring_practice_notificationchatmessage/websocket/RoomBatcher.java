@@ -0,0 +1,146 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Collects room messages for sessions that negotiated batching and sends them as one JSON array frame.
+ * The first message after a quiet flush window goes out immediately; messages that follow within
+ * the window are held until the window ends or the batch reaches its maximum size.
+ */
+@Component
+@Slf4j
+public class RoomBatcher {
+
+    // upper bounds of the batch-size histogram buckets
+    private static final int[] BUCKET_BOUNDS = {1, 2, 4, 8, 16, 32, 64, Integer.MAX_VALUE};
+
+    private final MessagingProperties.Batching settings;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, RoomBatch> rooms = new ConcurrentHashMap<>();
+
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder[] batchSizes = new LongAdder[BUCKET_BOUNDS.length];
+
+    public RoomBatcher(MessagingProperties messagingProperties) {
+        this.settings = messagingProperties.getBatching();
+        this.scheduler = Executors.newScheduledThreadPool(settings.getFlushThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "ws-room-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < batchSizes.length; i++) {
+            batchSizes[i] = new LongAdder();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdown();
+    }
+
+    // sink receives the array frame; it must only enqueue, it runs under the room's lock
+    public void offer(String roomId, String json, Consumer<TextMessage> sink) {
+        rooms.computeIfAbsent(roomId, k -> new RoomBatch()).offer(json, sink);
+    }
+
+    // Flushes and drops the state of a room that has no local members left
+    public void forget(String roomId) {
+        RoomBatch batch = rooms.remove(roomId);
+        if (batch != null) {
+            batch.flush();
+        }
+    }
+
+    public Stats snapshot() {
+        long[] distribution = new long[batchSizes.length];
+        for (int i = 0; i < batchSizes.length; i++) {
+            distribution[i] = batchSizes[i].sum();
+        }
+        return new Stats(flushes.sum(), messages.sum(), BUCKET_BOUNDS.clone(), distribution);
+    }
+
+    /**
+     * @param bucketBounds upper bound (inclusive) of each batch-size bucket
+     * @param batchSizes   number of flushes that fell into each bucket
+     */
+    public record Stats(long flushes, long messages, int[] bucketBounds, long[] batchSizes) {
+    }
+
+    private void record(int size) {
+        flushes.increment();
+        messages.add(size);
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            if (size <= BUCKET_BOUNDS[i]) {
+                batchSizes[i].increment();
+                return;
+            }
+        }
+    }
+
+    private class RoomBatch {
+        private final List<String> pending = new ArrayList<>();
+        private final long windowNanos = settings.getFlushWindow().toNanos();
+        private long lastFlushAt = System.nanoTime() - windowNanos;
+        private boolean scheduled;
+        private Consumer<TextMessage> sink;
+
+        synchronized void offer(String json, Consumer<TextMessage> sink) {
+            this.sink = sink;
+            pending.add(json);
+
+            boolean quiet = !scheduled && System.nanoTime() - lastFlushAt >= windowNanos;
+            if (quiet || pending.size() >= settings.getMaxBatchSize()) {
+                flush();
+                return;
+            }
+            if (!scheduled) {
+                scheduled = true;
+                scheduler.schedule(this::scheduledFlush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        synchronized void scheduledFlush() {
+            scheduled = false;
+            flush();
+        }
+
+        synchronized void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            StringBuilder frame = new StringBuilder(pending.size() * 128);
+            frame.append('[');
+            for (int i = 0; i < pending.size(); i++) {
+                if (i > 0) {
+                    frame.append(',');
+                }
+                frame.append(pending.get(i));
+            }
+            frame.append(']');
+
+            record(pending.size());
+            pending.clear();
+            lastFlushAt = System.nanoTime();
+            try {
+                sink.accept(new TextMessage(frame));
+            } catch (Exception e) {
+                log.error("배치 프레임 전송 실패", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single "theoretical arrival time" (the GCRA form):
+ * each permit pushes it forward by one emission interval, and a permit is granted while it stays
+ * within burst intervals of now. One CAS per permit, no lock, no refill thread.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong arrival;
+
+    TokenBucket(double permitsPerSecond, int burst, long now) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.arrival = new AtomicLong(now);
+    }
+
+    /**
+     * Takes one permit, possibly from the future.
+     *
+     * @return 0 when granted now, the nanos to wait when granted within maxWaitNanos, -1 when denied
+     */
+    long reserve(long now, long maxWaitNanos) {
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return Math.max(0, wait);
+            }
+        }
+    }
+
+    // A bucket that has refilled completely behaves exactly like a new one and can be dropped
+    boolean isFull(long now) {
+        return arrival.get() <= now;
+    }
+}
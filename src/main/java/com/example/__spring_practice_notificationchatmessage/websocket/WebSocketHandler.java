@@ -1,17 +1,31 @@
 package com.example.__spring_practice_notificationchatmessage.websocket;
 
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.listener.RedisChannels;
+import com.example.__spring_practice_notificationchatmessage.listener.RedisSubscriptionManager;
+import com.example.__spring_practice_notificationchatmessage.metrics.MessagingMetrics;
+import com.example.__spring_practice_notificationchatmessage.metrics.MessagingMetrics.FanOutTarget;
+import com.example.__spring_practice_notificationchatmessage.metrics.MessagingMetrics.SerializationStage;
+import com.example.__spring_practice_notificationchatmessage.model.DeliveryLane;
+import com.example.__spring_practice_notificationchatmessage.service.ChatService;
+import com.example.__spring_practice_notificationchatmessage.service.NotificationService;
+import com.example.__spring_practice_notificationchatmessage.service.PresenceService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 @Component
 @RequiredArgsConstructor
@@ -19,17 +33,54 @@ import java.util.concurrent.ConcurrentHashMap;
 public class WebSocketHandler implements org.springframework.web.socket.WebSocketHandler {
 
     private final ObjectMapper objectMapper;
-    private final Map<String, Set<WebSocketSession>> userSessions = new ConcurrentHashMap<>();
-    private final Map<String, Set<String>> roomMembers = new ConcurrentHashMap<>();
-    private final Map<String, Set<String>> groupMembers = new ConcurrentHashMap<>();
+    private final MessagingProperties messagingProperties;
+    private final OutboundStats outboundStats;
+    private final BroadcastEngine broadcastEngine;
+    private final RedisSubscriptionManager subscriptionManager;
+    private final NotificationService notificationService;
+    private final ChatService chatService;
+    private final RoomBatcher roomBatcher;
+    private final PresenceService presenceService;
+    private final ClientCommandDecoder commandDecoder;
+    private final MessagingMetrics metrics;
+    private final RateLimiter rateLimiter;
+    @Qualifier("outboundExecutor")
+    private final Executor outboundExecutor;
+    @Qualifier("sessionCloseExecutor")
+    private final Executor sessionCloseExecutor;
+    private final Map<String, OutboundSession> outboundSessions = new ConcurrentHashMap<>();
+    private final Map<String, Set<OutboundSession>> userSessions = new ConcurrentHashMap<>();
+    // user ids are interned once per session and shared by both indexes
+    private final IdRegistry userIds = new IdRegistry();
+    private final MembershipIndex roomMembers = new MembershipIndex(userIds);
+    private final MembershipIndex groupMembers = new MembershipIndex(userIds);
 
     // When client accessed
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
         String userId = getUserIdFromSession(session);
         if (userId != null) {
-            userSessions.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(session);
+            boolean batching = messagingProperties.getBatching().isEnabled() && "true".equals(getQueryParam(session, "batch"));
+            OutboundSession outbound = new OutboundSession(session, messagingProperties.getOutbound(), outboundExecutor, sessionCloseExecutor,
+                    outboundStats, batching);
+            userIds.acquire(userId);
+            outboundSessions.put(session.getId(), outbound);
+            boolean[] firstSession = new boolean[1];
+            userSessions.compute(userId, (k, sessions) -> {
+                firstSession[0] = sessions == null;
+                Set<OutboundSession> connected = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+                connected.add(outbound);
+                return connected;
+            });
             log.info("Websocket 연결 성공 - 사용자: {}, 세션ID: {}", userId, session.getId());
+            // the inbox only fills while no node subscribes to the user channel. Publishes keep landing there
+            // until this node's subscription is live, so drain now and once more when it is
+            if (firstSession[0] && messagingProperties.getInbox().isEnabled()) {
+                markUserDirty(userId, () -> drainInbox(userId, outbound));
+                drainInbox(userId, outbound);
+            } else {
+                markUserDirty(userId);
+            }
         }
     }
 
@@ -37,11 +88,26 @@ public class WebSocketHandler implements org.springframework.web.socket.WebSocke
     @Override
     public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
         String userId = getUserIdFromSession(session);
-        String payload = (String) message.getPayload();
+        // checked before decoding, so a flooding client costs one CAS per frame
+        RateLimiter.Verdict verdict = rateLimiter.acquireInbound(userId);
+        if (verdict == RateLimiter.Verdict.DISCONNECT) {
+            log.warn("요청 한도 초과로 연결 종료 - 사용자: {}, 세션ID: {}", userId, session.getId());
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("rate limit exceeded"));
+            return;
+        }
+        if (verdict == RateLimiter.Verdict.DROP) {
+            log.debug("요청 한도 초과로 메시지 무시 - 사용자: {}, 세션ID: {}", userId, session.getId());
+            return;
+        }
+        if (!(message instanceof TextMessage textMessage)) {
+            log.warn("텍스트가 아닌 메시지 거부 - 사용자: {}, 세션ID: {}", userId, session.getId());
+            return;
+        }
+        String payload = textMessage.getPayload();
 
         log.debug("Websocket 메시지 수신 - 사용자: {}, 내용: {}", userId, payload);
 
-        processClientMessage(userId, payload);
+        processClientMessage(userId, commandDecoder.decode(payload));
     }
 
     // When network error occurred
@@ -54,18 +120,30 @@ public class WebSocketHandler implements org.springframework.web.socket.WebSocke
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
         String userId = getUserIdFromSession(session);
+        OutboundSession outbound = outboundSessions.remove(session.getId());
+        if (outbound == null) {
+            return;
+        }
+        outbound.discard();
         if (userId != null) {
-            Set<WebSocketSession> sessions = userSessions.get(userId);
-            if (sessions != null) {
-                sessions.remove(session);
-                if (sessions.isEmpty()) {
-                    userSessions.remove(userId);
-                    removeUserFromAllRooms(userId);
-                    log.info("WebSocket 연결 종료 - 사용자: {} (모든 세션 종료)", userId);
-                } else {
-                    log.info("WebSocket 연결 종료 - 사용자: {}, 세션ID: {} (남은 세션: {}개)", userId, session.getId(), sessions.size());
+            // remove the session and drop the user entry atomically, so a concurrent connect is never lost.
+            // Memberships are cleared under the same entry lock: a reconnect's compute waits for it,
+            // so a join_room sent on the new session can never be wiped by this cleanup
+            Set<OutboundSession> remaining = userSessions.computeIfPresent(userId, (k, sessions) -> {
+                sessions.remove(outbound);
+                if (!sessions.isEmpty()) {
+                    return sessions;
                 }
+                removeUserFromAllRooms(userId);
+                return null;
+            });
+            if (remaining == null) {
+                markUserDirty(userId);
+                log.info("WebSocket 연결 종료 - 사용자: {} (모든 세션 종료)", userId);
+            } else {
+                log.info("WebSocket 연결 종료 - 사용자: {}, 세션ID: {} (남은 세션: {}개)", userId, session.getId(), remaining.size());
             }
+            userIds.release(userId);
         }
     }
 
@@ -75,120 +153,142 @@ public class WebSocketHandler implements org.springframework.web.socket.WebSocke
         return false;
     }
 
-    public void sendToUser(String userId, Object message) {
-        Set<WebSocketSession> sessions = userSessions.get(userId);
+    // Returns false when the user has no session on this node
+    public boolean sendToUser(String userId, Object message) {
+        Set<OutboundSession> sessions = userSessions.get(userId);
+        if (sessions == null || sessions.isEmpty()) {
+            return false;
+        }
+        TextMessage textMessage = encode(message);
+        if (textMessage != null) {
+            sendFrameToUser(userId, textMessage, DeliveryLane.of(message));
+        }
+        return true;
+    }
+
+    // Sends an already encoded frame, e.g. one of the pre-encoded ClientReplies
+    private void sendFrameToUser(String userId, TextMessage textMessage) {
+        sendFrameToUser(userId, textMessage, DeliveryLane.NORMAL);
+    }
+
+    private void sendFrameToUser(String userId, TextMessage textMessage, DeliveryLane lane) {
+        Set<OutboundSession> sessions = userSessions.get(userId);
         if (sessions != null && !sessions.isEmpty()) {
-            try {
-                String json = objectMapper.writeValueAsString(message);
-                TextMessage textMessage = new TextMessage(json);
-
-                int successCount = 0;
-                for (WebSocketSession session: sessions) {
-                    if (session.isOpen()) {
-                        try {
-                            synchronized (session) {
-                                session.sendMessage(textMessage);
-                            }
-                            successCount++;
-                        } catch (Exception e) {
-                            log.error("사용자 메시지 전송 실패 - 사용자: {}, 세션ID: {}", userId, session.getId(), e);
-                        }
-                    }
+            int successCount = 0;
+            for (OutboundSession session: sessions) {
+                if (session.isOpen() && sendFrame(session, textMessage, lane)) {
+                    successCount++;
                 }
-                log.debug("사용자 메시지 전송 완료 - 사용자: {}, 전송 세션 수: {}/{}", userId, successCount, sessions.size());
-            } catch (Exception e) {
-                log.error("사용자 메시지 직렬화 실패 - 사용자: {}", e);
             }
+            log.debug("사용자 메시지 전송 완료 - 사용자: {}, 전송 세션 수: {}/{}", userId, successCount, sessions.size());
         }
     }
 
-    public void broadcast(Object message) {
-        String json;
-        try {
-            json = objectMapper.writeValueAsString(message);
-        } catch (Exception e) {
-            log.error("브로드캐스트 메시지 직렬화 실패", e);
-            return;
+    public BroadcastResult broadcast(Object message) {
+        BroadcastResult result = broadcastToAll(message, DeliveryLane.of(message));
+        if (result != null) {
+            metrics.recordFanOut(FanOutTarget.BROADCAST, result.sent(), result.failures());
+            log.debug("브로드캐스트 메시지 전송 완료 - 사용자: {}명, 세션: {}개, 실패: {}개, 소요: {}ms",
+                    userSessions.size(), result.sent(), result.failures(), result.elapsedMillis());
         }
+        return result;
+    }
 
-        TextMessage textMessage = new TextMessage(json);
-        long totalSessions = userSessions.values().stream()
-                .flatMap(Set::stream)
-                .filter(WebSocketSession::isOpen)
-                .peek(session -> {
-                    try {
-                        synchronized (session) {
-                            session.sendMessage(textMessage);
-                        }
-                    } catch (Exception e) {
-                        log.error("브로드캐스트 전송 실패 - 세션ID: {}", session.getId(), e);
-                    }
-                })
-                .count();
-
-        log.info("브로드캐스트 메시지 전송 완료 - 사용자: {}명, 세션: {}개", userSessions.size(), totalSessions);
-    }
-
-    public void sendToGroup(String groupId, Object message) {
-        Set<String> members = groupMembers.get(groupId);
-        if (members != null) {
-            members.forEach(userId -> sendToUser(userId, message));
-            log.info("그룹 메시지 전송 완료 - 그룹: {}명, 대상: {}명", groupId, members.size());
+    public FanOutResult sendToGroup(String groupId, Object message) {
+        if (!groupMembers.hasMembers(groupId)) {
+            return FanOutResult.EMPTY;
         }
+
+        FanOutResult result = fanOut(groupMembers, groupId, message, null);
+        metrics.recordFanOut(FanOutTarget.GROUP, result.sessions(), result.failures());
+        log.debug("그룹 메시지 전송 완료 - 그룹: {}, 대상: {}명, 세션: {}개, 실패: {}개",
+                groupId, result.members(), result.sessions(), result.failures());
+        return result;
     }
 
-    public void sendToRoom(String roomId, Object message) {
-        Set<String> members = roomMembers.get(roomId);
-        if (members != null) {
-            members.forEach(userId -> sendToUser(userId, message));
-            log.info("채팅방 메시지 전송 완료 - 방: {}, 대상: {}명", roomId, members.size());
+    public FanOutResult sendToRoom(String roomId, Object message) {
+        if (!roomMembers.hasMembers(roomId)) {
+            return FanOutResult.EMPTY;
+        }
+        // a delayed message is fanned out later on the limiter's scheduler and reports EMPTY here
+        FanOutResult[] result = {FanOutResult.EMPTY};
+        if (!rateLimiter.submitRoom(roomId, () -> result[0] = fanOutToRoom(roomId, message))) {
+            // a dropped chat message stays in the room stream, so clients can still catch up with lastSeenId
+            log.debug("채팅방 전송 한도 초과로 메시지 제외 - 방: {}", roomId);
         }
+        return result[0];
     }
 
-    public void broadcastRoomCreated(Map<String, String> roomCreatedEvent) {
-        String json;
-        try {
-            json = objectMapper.writeValueAsString(roomCreatedEvent);
-        } catch (Exception e) {
-            log.error("채팅방 생성 이벤트 직렬화 실패", e);
-            return;
-        }
+    private FanOutResult fanOutToRoom(String roomId, Object message) {
+        FanOutResult result = fanOut(roomMembers, roomId, message, roomId);
+        metrics.recordFanOut(FanOutTarget.ROOM, result.sessions(), result.failures());
+        log.debug("채팅방 메시지 전송 완료 - 방: {}, 대상: {}명, 세션: {}개, 실패: {}개",
+                roomId, result.members(), result.sessions(), result.failures());
+        return result;
+    }
 
-        TextMessage textMessage = new TextMessage(json);
-        long totalSessions = userSessions.values().stream()
-                .flatMap(Set::stream)
-                .filter(WebSocketSession::isOpen)
-                .peek(session -> {
-                    try {
-                        synchronized (session) {
-                            session.sendMessage(textMessage);
-                        }
-                    } catch (Exception e) {
-                        log.error("채팅방 생성 이벤트 전송 실패 - 세션ID: {}", session.getId(), e);
-                    }
-                })
-                .count();
-
-        log.info("채팅방 생성 이벤트 브로드캐스트 완료 - 방ID: {}, 사용자: {}명, 세션: {}개",
-                roomCreatedEvent.get("roomId"), userSessions.size(), totalSessions);
+    public BroadcastResult broadcastRoomCreated(Map<String, String> roomCreatedEvent) {
+        BroadcastResult result = broadcastToAll(roomCreatedEvent, DeliveryLane.NORMAL);
+        if (result != null) {
+            metrics.recordFanOut(FanOutTarget.BROADCAST, result.sent(), result.failures());
+            log.debug("채팅방 생성 이벤트 브로드캐스트 완료 - 방ID: {}, 사용자: {}명, 세션: {}개, 실패: {}개, 소요: {}ms",
+                    roomCreatedEvent.get("roomId"), userSessions.size(), result.sent(), result.failures(), result.elapsedMillis());
+        }
+        return result;
     }
 
     public void addUserToRoom(String userId, String roomId) {
-        roomMembers.computeIfAbsent(roomId, k -> ConcurrentHashMap.newKeySet()).add(userId);
-        log.info("사용자 채팅방 입장 - 사용자: {}. 방: {}", userId, roomId);
+        if (roomMembers.add(userId, roomId)) {
+            markRoomDirty(roomId);
+        }
+        markRoomPresence(roomId);
+        log.debug("사용자 채팅방 입장 - 사용자: {}. 방: {}", userId, roomId);
     }
 
     public void removeUserFromRoom(String userId, String roomId) {
-        Set<String> members = roomMembers.get(roomId);
-        if (members != null) {
-            members.remove(userId);
-            log.info("사용자 채팅방 퇴장 - 사용자: {}. 방: {}", userId, roomId);
+        if (roomMembers.remove(userId, roomId)) {
+            markRoomDirty(roomId);
+            roomBatcher.forget(roomId);
+            log.debug("빈 채팅방 정리 - 방: {}", roomId);
         }
+        markRoomPresence(roomId);
+        log.debug("사용자 채팅방 퇴장 - 사용자: {}. 방: {}", userId, roomId);
     }
 
     public void addUserToGroup(String userId, String groupId) {
-       groupMembers.computeIfAbsent(groupId, k -> ConcurrentHashMap.newKeySet()).add(userId);
-        log.info("사용자 채팅방 입장 - 사용자: {}. 그룹: {}", userId, groupId);
+        if (groupMembers.add(userId, groupId)) {
+            markGroupDirty(groupId);
+        }
+        log.debug("사용자 그룹 참여 - 사용자: {}. 그룹: {}", userId, groupId);
+    }
+
+    // Closes sessions whose writer has been stuck longer than the send timeout, even if nothing else is sent to them
+    @Scheduled(fixedDelayString = "${messaging.outbound.timeout-check-interval-ms:1000}")
+    public void evictTimedOutSessions() {
+        outboundSessions.values().forEach(OutboundSession::checkSendTimeout);
+    }
+
+    public int getSessionCount() {
+        return outboundSessions.size();
+    }
+
+    public int getConnectedUserCount() {
+        return userSessions.size();
+    }
+
+    public OutboundStats.Snapshot getOutboundStats() {
+        return outboundStats.snapshot();
+    }
+
+    public ClientCommandDecoder.Stats getCommandStats() {
+        return commandDecoder.snapshot();
+    }
+
+    public Map<String, MembershipIndex.MemoryReport> getMembershipReport() {
+        return Map.of(
+                "rooms", roomMembers.memoryReport(),
+                "groups", groupMembers.memoryReport()
+        );
     }
 
     public String getUserIdFromSession(WebSocketSession session) {
@@ -199,81 +299,201 @@ public class WebSocketHandler implements org.springframework.web.socket.WebSocke
         return session.getId();
     }
 
-    private void processClientMessage(String userId, String payload) {
-        // Processing based on the message type sent by the client
-        // ex: {"type": "join_room", "roomId": "room1"}
-        // ex: {"type": "join_group", "groupId": "admin"}
+    private String getQueryParam(WebSocketSession session, String name) {
+        String query = session.getUri().getQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return pair.substring(eq + 1);
+            }
+        }
+        return null;
+    }
+
+    private void processClientMessage(String userId, ClientCommand command) {
+        // Processing based on the command decoded from the client frame
         try {
-            Map<String, Object> message = objectMapper.readValue(payload, Map.class);
-            String type = (String) message.get("type");
+            if (command instanceof ClientCommand.Ping) {
+                // pong response about ping message, for confirming connection
+                sendFrameToUser(userId, ClientReplies.PONG);
+            } else if (command instanceof ClientCommand.JoinRoom join) {
+                addUserToRoom(userId, join.roomId());
+                // send response of successful entry to chatroom
+                sendFrameToUser(userId, ClientReplies.roomJoined(join.roomId(), presenceService.getRoomOnlineCount(join.roomId())));
+                // replay only what was missed since the last stream id the client saw
+                if (join.lastSeenId() != null) {
+                    chatService.replaySince(join.roomId(), join.lastSeenId(), batch -> sendToUser(userId, Map.of(
+                            "type", "chat_replay",
+                            "roomId", join.roomId(),
+                            "messages", batch
+                    )));
+                }
+            } else if (command instanceof ClientCommand.LeaveRoom leave) {
+                removeUserFromRoom(userId, leave.roomId());
+                // send response of successful leave to chatroom
+                sendFrameToUser(userId, ClientReplies.roomLeft(leave.roomId()));
+            } else if (command instanceof ClientCommand.JoinGroup join) {
+                addUserToGroup(userId, join.groupId());
+                // send response of successful entry to group
+                sendFrameToUser(userId, ClientReplies.groupJoined(join.groupId()));
+            } else if (command instanceof ClientCommand.FetchGap gap) {
+                // numbers missing from messages were trimmed from the stream or never published
+                long toSeq = Math.min(gap.toSeq(), gap.fromSeq() + messagingProperties.getSequence().getMaxGap() - 1);
+                sendToUser(userId, Map.of(
+                        "type", "chat_gap",
+                        "roomId", gap.roomId(),
+                        "fromSeq", gap.fromSeq(),
+                        "toSeq", toSeq,
+                        "messages", chatService.findBySequence(gap.roomId(), gap.afterId(), gap.fromSeq(), toSeq)
+                ));
+            } else if (command instanceof ClientCommand.GetHistory history) {
+                sendToUser(userId, Map.of(
+                        "type", "history",
+                        "page", history.page(),
+                        "items", notificationService.getNotificationHistory(userId, history.page(), history.size())
+                ));
+            } else if (command instanceof ClientCommand.Rejected rejected) {
+                log.warn("클라이언트 메시지 거부 - 사용자: {}, 사유: {}", userId, rejected.reason());
+                sendFrameToUser(userId, ClientReplies.rejected(rejected));
+            }
+        } catch (Exception e) {
+            log.error("클라이언트 메시지 처리 실패 - 사용자: {}, 명령: {}", userId, command, e);
+        }
+    }
 
-            if (type == null) {
-                log.warn("메시지 타입이 없습니다 - 사용자: {}, 페이로드: {}", userId, payload);
+    // Serialize once and share the same immutable frame with every member session;
+    // for a room, batching sessions get the message later through the RoomBatcher, except HIGH lane messages
+    private FanOutResult fanOut(MembershipIndex index, String key, Object message, String batchRoomId) {
+        TextMessage textMessage = encode(message);
+        if (textMessage == null) {
+            return FanOutResult.EMPTY;
+        }
+        DeliveryLane lane = DeliveryLane.of(message);
+        boolean batchable = batchRoomId != null && lane != DeliveryLane.HIGH;
+
+        // members, sessions, failures, batched sessions
+        int[] counts = new int[4];
+        index.forEachMember(key, userId -> {
+            counts[0]++;
+            Set<OutboundSession> sessions = userSessions.get(userId);
+            if (sessions == null) {
                 return;
             }
+            for (OutboundSession session : sessions) {
+                if (!session.isOpen()) {
+                    continue;
+                }
+                if (batchable && session.isBatching()) {
+                    counts[3]++;
+                    counts[1]++;
+                    continue;
+                }
+                if (sendFrame(session, textMessage, lane)) {
+                    counts[1]++;
+                } else {
+                    counts[2]++;
+                }
+            }
+        });
+        if (counts[3] > 0) {
+            roomBatcher.offer(batchRoomId, textMessage.getPayload(), frame -> sendBatchToRoom(batchRoomId, frame));
+        }
+        return new FanOutResult(counts[0], counts[1], counts[2]);
+    }
 
-            switch (type) {
-                case "join_room":
-                    String roomId = (String) message.get("roomId");
-                    if (roomId != null) {
-                        addUserToRoom(userId, roomId);
-                        // send response of successful entry to chatroom
-                        sendToUser(userId, Map.of(
-                                "type", "room_joined",
-                                "roomId", roomId,
-                                "message", "채팅방에 입장했습니다"
-                        ));
-                    } else {
-                        log.warn("roomId가 없습니다 - 사용자: {}", userId);
-                    }
-                    break;
-
-                case "leave_room":
-                    String leaveRoomId = (String) message.get("roomId");
-                    if (leaveRoomId != null) {
-                        removeUserFromRoom(userId, leaveRoomId);
-                        // send response of successful leave to chatroom
-                        sendToUser(userId, Map.of(
-                                "type", "room_left",
-                                "roomId", leaveRoomId,
-                                "message", "채팅방에서 퇴장했습니다"
-                        ));
-                    } else {
-                        log.warn("roomId가 없습니다 - 사용자: {}", userId);
-                    }
-                    break;
-
-                case "join_group":
-                    String groupId = (String) message.get("groupId");
-                    if (groupId != null) {
-                        addUserToGroup(userId, groupId);
-                        // send response of successful entry to group
-                        sendToUser(userId, Map.of(
-                                "type", "group_joined",
-                                "groupId", groupId,
-                                "message", "그룹에 참여했습니다"
-                        ));
-                    } else {
-                        log.warn("groupId가 없습니다 - 사용자: {}", userId);
-                    }
-                    break;
-
-                case "ping":
-                    // pong response about ping message, for confirming connection
-                    sendToUser(userId, Map.of("type", "pong"));
-                    break;
-
-                default:
-                    log.warn("알 수 없는 메시지 타입 - 사용자: {}, 타입: {}", userId, type);
-                    break;
+    private void sendBatchToRoom(String roomId, TextMessage frame) {
+        roomMembers.forEachMember(roomId, userId -> {
+            Set<OutboundSession> sessions = userSessions.get(userId);
+            if (sessions == null) {
+                return;
             }
+            for (OutboundSession session : sessions) {
+                if (session.isBatching() && session.isOpen()) {
+                    sendFrame(session, frame, DeliveryLane.LOW);
+                }
+            }
+        });
+    }
+
+    // Returns null when the message could not be serialized
+    private BroadcastResult broadcastToAll(Object message, DeliveryLane lane) {
+        TextMessage textMessage = encode(message);
+        if (textMessage == null) {
+            return null;
+        }
+        BroadcastResult result = broadcastEngine.broadcast(outboundSessions.values(), textMessage, lane);
+        if (result.failures() > 0) {
+            log.warn("브로드캐스트 일부 실패 - 샤드별 실패: {}", result.shardFailures());
+        }
+        return result;
+    }
+
+    private TextMessage encode(Object message) {
+        try {
+            long start = metrics.start();
+            // built from bytes, so the UTF-8 form is kept for the payload length checks and the reactive transport
+            TextMessage textMessage = new TextMessage(objectMapper.writeValueAsBytes(message));
+            metrics.recordSerialization(SerializationStage.WEBSOCKET_ENCODE, start);
+            return textMessage;
         } catch (Exception e) {
-            log.error("클라이언트 메시지 처리 실패 - 사용자: {}, 페이로드: {}", userId, payload, e);
+            log.error("메시지 직렬화 실패 - 타입: {}", message.getClass().getSimpleName(), e);
+            return null;
+        }
+    }
+
+    // Hands the frame to the session's outbound queue; never blocks on the network
+    private boolean sendFrame(OutboundSession session, TextMessage textMessage, DeliveryLane lane) {
+        return session.enqueue(textMessage, lane);
+    }
+
+    // Everything missed while offline goes out as one frame; the inbox is acknowledged once it is queued
+    private void drainInbox(String userId, OutboundSession outbound) {
+        int drained = notificationService.drainInbox(userId, items -> {
+            TextMessage frame = encode(Map.of(
+                    "type", "inbox",
+                    "count", items.size(),
+                    "items", items
+            ));
+            return frame != null && outbound.enqueue(frame, DeliveryLane.NORMAL);
+        });
+        if (drained > 0) {
+            log.info("오프라인 알림 전달 - 사용자: {}, {}건", userId, drained);
         }
     }
 
     private void removeUserFromAllRooms(String userId) {
-        roomMembers.values().forEach(members -> members.remove(userId));
-        groupMembers.values().forEach(members -> members.remove(userId));
+        List<String> joinedRooms = roomMembers.memberships(userId);
+        roomMembers.removeAll(userId).forEach(roomId -> {
+            markRoomDirty(roomId);
+            roomBatcher.forget(roomId);
+        });
+        joinedRooms.forEach(this::markRoomPresence);
+        groupMembers.removeAll(userId).forEach(this::markGroupDirty);
+    }
+
+    // The user channel subscription follows "has at least one local session"
+    private void markUserDirty(String userId) {
+        markUserDirty(userId, null);
+    }
+
+    private void markUserDirty(String userId, Runnable onSubscribed) {
+        subscriptionManager.markDirty(RedisChannels.user(userId), () -> userSessions.containsKey(userId), onSubscribed);
+    }
+
+    // Presence reports the local member count; the supplier is evaluated at the next presence flush
+    private void markRoomPresence(String roomId) {
+        presenceService.markRoomDirty(roomId, () -> roomMembers.memberCount(roomId));
+    }
+
+    // Redis channel subscriptions follow local room/group membership
+    private void markRoomDirty(String roomId) {
+        subscriptionManager.markDirty(RedisChannels.chat(roomId), () -> roomMembers.hasMembers(roomId));
+    }
+
+    private void markGroupDirty(String groupId) {
+        subscriptionManager.markDirty(RedisChannels.group(groupId), () -> groupMembers.hasMembers(groupId));
     }
 }
@@ -0,0 +1,161 @@
+package com.example.__spring_practice_notificationchatmessage.service;
+
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.model.ChatMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoomPublishQueueTest {
+
+    private final ExecutorService writers = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        writers.shutdownNow();
+    }
+
+    @Test
+    void publishesEachRoomInSequenceOrder() throws Exception {
+        Map<String, List<Long>> published = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(8000);
+        RoomPublishQueue queue = new RoomPublishQueue(allocator(), writers, 16, (roomId, batch) -> {
+            AtomicInteger publishing = inFlight.computeIfAbsent(roomId, k -> new AtomicInteger());
+            if (publishing.incrementAndGet() > 1) {
+                overlaps.incrementAndGet();
+            }
+            // a slow publish lets senders pile up behind the writer
+            Thread.sleep(1);
+            batch.forEach(message -> published.computeIfAbsent(roomId, k -> new CopyOnWriteArrayList<>()).add(message.getSeq()));
+            publishing.decrementAndGet();
+            batch.forEach(message -> done.countDown());
+        });
+
+        ExecutorService senders = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                String roomId = t % 2 == 0 ? "room1" : "room2";
+                tasks.add(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        queue.submit(ChatMessage.textMessage(roomId, "user1", "User", "hello"));
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> result : senders.invokeAll(tasks)) {
+                result.get();
+            }
+        } finally {
+            senders.shutdownNow();
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        // one writer per room at a time
+        assertEquals(0, overlaps.get());
+        for (String roomId : List.of("room1", "room2")) {
+            List<Long> seqs = published.get(roomId);
+            assertEquals(4000, seqs.size());
+            for (int i = 0; i < seqs.size(); i++) {
+                assertEquals(i + 1L, seqs.get(i));
+            }
+        }
+    }
+
+    @Test
+    void batchesMessagesQueuedWhileTheWriterIsBusy() throws Exception {
+        CountDownLatch firstPublishing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        RoomPublishQueue queue = new RoomPublishQueue(allocator(), writers, 3, (roomId, batch) -> {
+            batchSizes.add(batch.size());
+            firstPublishing.countDown();
+            release.await();
+        });
+
+        queue.submit(message());
+        assertTrue(firstPublishing.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            queue.submit(message());
+        }
+        release.countDown();
+
+        waitUntilIdle(queue);
+        assertEquals(List.of(1, 3, 2), batchSizes);
+    }
+
+    @Test
+    void dropsDrainedRoomsAndSurvivesAFailedPublish() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        List<ChatMessage> published = new CopyOnWriteArrayList<>();
+        RoomPublishQueue queue = new RoomPublishQueue(allocator(), writers, 10, (roomId, batch) -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("redis down");
+            }
+            published.addAll(batch);
+        });
+
+        queue.submit(message());
+        waitUntilIdle(queue);
+        ChatMessage next = message();
+        queue.submit(next);
+        waitUntilIdle(queue);
+
+        assertEquals(List.of(next), published);
+        assertEquals(2L, next.getSeq());
+        assertEquals(0, queue.activeRooms());
+    }
+
+    @Test
+    void publishesUnstampedWhenSequencesAreDisabled() throws Exception {
+        MessagingProperties properties = new MessagingProperties();
+        properties.getSequence().setEnabled(false);
+        SequenceAllocator allocator = new SequenceAllocator((roomId, size) -> size, properties);
+        List<ChatMessage> published = new CopyOnWriteArrayList<>();
+        RoomPublishQueue queue = new RoomPublishQueue(allocator, Runnable::run, 10, (roomId, batch) -> published.addAll(batch));
+
+        ChatMessage message = message();
+        queue.submit(message);
+
+        assertEquals(List.of(message), published);
+        assertNull(message.getSeq());
+    }
+
+    private static SequenceAllocator allocator() {
+        Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+        MessagingProperties properties = new MessagingProperties();
+        properties.getSequence().setBlockSize(10);
+        return new SequenceAllocator((roomId, size) -> counters.computeIfAbsent(roomId, k -> new AtomicLong()).addAndGet(size),
+                properties);
+    }
+
+    private static ChatMessage message() {
+        return ChatMessage.textMessage("room1", "user1", "User", "hello");
+    }
+
+    private static void waitUntilIdle(RoomPublishQueue queue) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queue.activeRooms() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
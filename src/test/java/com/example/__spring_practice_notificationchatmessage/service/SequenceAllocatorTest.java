@@ -0,0 +1,167 @@
+package com.example.__spring_practice_notificationchatmessage.service;
+
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.example.__spring_practice_notificationchatmessage.model.ChatMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SequenceAllocatorTest {
+
+    @Test
+    void stampsConsecutiveNumbersFromLeasedBlocks() {
+        CountingSource source = new CountingSource();
+        SequenceAllocator allocator = new SequenceAllocator(source, properties(3));
+
+        List<Long> seqs = new ArrayList<>();
+        List<Long> blocks = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ChatMessage message = message("room1");
+            assertTrue(allocator.stamp(message));
+            seqs.add(message.getSeq());
+            blocks.add(message.getSeqBlock());
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), seqs);
+        assertEquals(List.of(1L, 1L, 1L, 4L, 4L, 4L, 7L), blocks);
+        assertEquals(3, source.calls.get());
+        assertEquals(new SequenceAllocator.Stats(7, 3, 0, 1), allocator.snapshot());
+    }
+
+    @Test
+    void roomsHaveIndependentSequences() {
+        SequenceAllocator allocator = new SequenceAllocator(new CountingSource(), properties(10));
+        ChatMessage first = message("room1");
+        ChatMessage second = message("room2");
+        allocator.stamp(first);
+        allocator.stamp(second);
+
+        assertEquals(1L, first.getSeq());
+        assertEquals(1L, second.getSeq());
+    }
+
+    @Test
+    void nodesSharingACounterInterleaveBlocks() {
+        // two allocators stand in for two nodes leasing from the same Redis counter
+        CountingSource source = new CountingSource();
+        SequenceAllocator nodeA = new SequenceAllocator(source, properties(2));
+        SequenceAllocator nodeB = new SequenceAllocator(source, properties(2));
+
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            for (SequenceAllocator node : List.of(nodeA, nodeB)) {
+                ChatMessage message = message("room1");
+                node.stamp(message);
+                assertTrue(seen.add(message.getSeq()));
+                // a number always belongs to the block it claims
+                assertTrue(message.getSeq() - message.getSeqBlock() < 2);
+            }
+        }
+        assertEquals(20, seen.size());
+    }
+
+    @Test
+    void failedLeaseLeavesTheMessageUnstampedAndIsRetried() {
+        CountingSource counter = new CountingSource();
+        AtomicBoolean down = new AtomicBoolean(true);
+        SequenceAllocator allocator = new SequenceAllocator((roomId, size) -> {
+            if (down.get()) {
+                throw new IllegalStateException("redis down");
+            }
+            return counter.reserve(roomId, size);
+        }, properties(5));
+
+        ChatMessage message = message("room1");
+        assertFalse(allocator.stamp(message));
+        assertNull(message.getSeq());
+        assertNull(message.getSeqBlock());
+        assertEquals(1, allocator.snapshot().failed());
+
+        down.set(false);
+        assertTrue(allocator.stamp(message));
+        assertEquals(1L, message.getSeq());
+    }
+
+    @Test
+    void disabledStampsNothing() {
+        MessagingProperties properties = properties(5);
+        properties.getSequence().setEnabled(false);
+        CountingSource source = new CountingSource();
+        SequenceAllocator allocator = new SequenceAllocator(source, properties);
+
+        ChatMessage message = message("room1");
+        assertFalse(allocator.stamp(message));
+        assertNull(message.getSeq());
+        assertEquals(0, source.calls.get());
+    }
+
+    @Test
+    void concurrentSendersGetUniqueNumbers() throws Exception {
+        CountingSource source = new CountingSource();
+        SequenceAllocator allocator = new SequenceAllocator(source, properties(16));
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<List<Long>>> senders = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                senders.add(() -> {
+                    List<Long> seqs = new ArrayList<>();
+                    for (int i = 0; i < 1000; i++) {
+                        ChatMessage message = message("room1");
+                        allocator.stamp(message);
+                        seqs.add(message.getSeq());
+                    }
+                    return seqs;
+                });
+            }
+            Set<Long> seen = new HashSet<>();
+            for (Future<List<Long>> result : pool.invokeAll(senders)) {
+                seen.addAll(result.get());
+            }
+
+            // one node never leaves holes, so 8000 messages use exactly 1..8000
+            assertEquals(8000, seen.size());
+            assertTrue(seen.contains(1L) && seen.contains(8000L));
+            assertEquals(500, source.calls.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static MessagingProperties properties(int blockSize) {
+        MessagingProperties properties = new MessagingProperties();
+        properties.getSequence().setBlockSize(blockSize);
+        return properties;
+    }
+
+    private static ChatMessage message(String roomId) {
+        return ChatMessage.textMessage(roomId, "user1", "User", "hello");
+    }
+
+    // In-memory INCRBY per room
+    private static final class CountingSource implements SequenceAllocator.BlockSource {
+        private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+        private final AtomicLong calls = new AtomicLong();
+
+        @Override
+        public long reserve(String roomId, int size) {
+            calls.incrementAndGet();
+            return counters.computeIfAbsent(roomId, k -> new AtomicLong()).addAndGet(size);
+        }
+    }
+}
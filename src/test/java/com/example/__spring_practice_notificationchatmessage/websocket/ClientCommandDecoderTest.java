@@ -0,0 +1,87 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ClientCommandDecoderTest {
+
+    private final MessagingProperties properties = new MessagingProperties();
+    private final ClientCommandDecoder decoder = new ClientCommandDecoder(new ObjectMapper(), properties);
+
+    @Test
+    void decodesFieldsInAnyOrderAndSkipsUnknownOnes() {
+        assertSame(ClientCommand.PING, decoder.decode("{\"type\":\"ping\"}"));
+        assertEquals(new ClientCommand.JoinRoom("room1", "1700000000000-0"),
+                decoder.decode("{\"lastSeenId\":\"1700000000000-0\",\"extra\":{\"a\":[1,2]},\"roomId\":\"room1\",\"type\":\"join_room\"}"));
+        assertEquals(new ClientCommand.LeaveRoom("room1"), decoder.decode("{\"type\":\"leave_room\",\"roomId\":\"room1\"}"));
+        assertEquals(new ClientCommand.JoinGroup("admin"), decoder.decode("{\"type\":\"join_group\",\"groupId\":\"admin\"}"));
+        assertEquals(new ClientCommand.GetHistory(0, 20), decoder.decode("{\"type\":\"get_history\"}"));
+        assertEquals(new ClientCommand.GetHistory(2, 50), decoder.decode("{\"type\":\"get_history\",\"page\":2,\"size\":50}"));
+    }
+
+    @Test
+    void rejectsFramesThatAreNotOneObject() {
+        assertRejected("잘못된 JSON 형식", "not json");
+        assertRejected("잘못된 JSON 형식", "[\"ping\"]");
+        assertRejected("잘못된 JSON 형식", "{\"type\":\"ping\"");
+        assertRejected("잘못된 JSON 형식", "{\"type\":\"ping\"} {\"type\":\"ping\"}");
+    }
+
+    @Test
+    void rejectsMissingOrUnknownTypes() {
+        assertRejected("메시지 타입이 없습니다", "{\"roomId\":\"room1\"}");
+        assertRejected("메시지 타입이 없습니다", "{\"type\":7}");
+        assertRejected("알 수 없는 메시지 타입", "{\"type\":\"shutdown\"}");
+    }
+
+    @Test
+    void rejectsMissingRequiredFields() {
+        assertRejected("roomId가 없습니다", "{\"type\":\"join_room\"}");
+        // a non-string id is treated as absent
+        assertRejected("roomId가 없습니다", "{\"type\":\"leave_room\",\"roomId\":{\"id\":\"room1\"}}");
+        assertRejected("groupId가 없습니다", "{\"type\":\"join_group\"}");
+    }
+
+    @Test
+    void rejectsOversizedFramesBeforeParsing() {
+        int limit = properties.getInbound().getMaxFrameLength();
+        String padding = "x".repeat(limit);
+        assertRejected("프레임 크기 초과", "{\"type\":\"ping\",\"pad\":\"" + padding + "\"}");
+    }
+
+    @Test
+    void validatesFetchGapRanges() {
+        assertEquals(new ClientCommand.FetchGap("room1", "1700000000000-0", 106, 108),
+                decoder.decode("{\"type\":\"fetch_gap\",\"roomId\":\"room1\",\"afterId\":\"1700000000000-0\",\"fromSeq\":106,\"toSeq\":108}"));
+        assertEquals(new ClientCommand.FetchGap("room1", null, 5, 5),
+                decoder.decode("{\"type\":\"fetch_gap\",\"roomId\":\"room1\",\"fromSeq\":5,\"toSeq\":5}"));
+
+        assertRejected("fromSeq/toSeq가 올바르지 않습니다", "{\"type\":\"fetch_gap\",\"roomId\":\"room1\",\"fromSeq\":9,\"toSeq\":8}");
+        assertRejected("fromSeq/toSeq가 올바르지 않습니다", "{\"type\":\"fetch_gap\",\"roomId\":\"room1\",\"fromSeq\":0,\"toSeq\":8}");
+        assertRejected("fromSeq/toSeq가 올바르지 않습니다", "{\"type\":\"fetch_gap\",\"roomId\":\"room1\",\"fromSeq\":\"1\",\"toSeq\":8}");
+        assertRejected("roomId가 없습니다", "{\"type\":\"fetch_gap\",\"fromSeq\":1,\"toSeq\":8}");
+    }
+
+    @Test
+    void countsDecodedAndRejectedFrames() {
+        decoder.decode("{\"type\":\"ping\"}");
+        decoder.decode("{\"type\":\"ping\"}");
+        decoder.decode("{\"type\":\"join_room\",\"roomId\":\"room1\"}");
+        decoder.decode("{\"type\":\"fetch_gap\",\"roomId\":\"room1\",\"fromSeq\":1,\"toSeq\":1}");
+        decoder.decode("{\"type\":\"unknown\"}");
+        decoder.decode("{");
+
+        assertEquals(new ClientCommandDecoder.Stats(2, 1, 0, 0, 0, 1, 2), decoder.snapshot());
+    }
+
+    private void assertRejected(String reason, String payload) {
+        ClientCommand command = decoder.decode(payload);
+        assertInstanceOf(ClientCommand.Rejected.class, command, payload);
+        assertEquals(reason, ((ClientCommand.Rejected) command).reason());
+    }
+}
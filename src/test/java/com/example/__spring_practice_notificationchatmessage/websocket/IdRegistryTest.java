@@ -0,0 +1,60 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class IdRegistryTest {
+
+    @Test
+    void handlesAreReferenceCounted() {
+        IdRegistry registry = new IdRegistry();
+        int alice = registry.acquire("alice");
+        int bob = registry.acquire("bob");
+        assertNotEquals(alice, bob);
+        assertEquals(alice, registry.acquire("alice"));
+        assertEquals("alice", registry.name(alice));
+
+        registry.release("alice");
+        assertEquals(alice, registry.find("alice"));
+        registry.release("alice");
+        assertEquals(-1, registry.find("alice"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void releasedHandleIsQuarantined() {
+        IdRegistry registry = new IdRegistry();
+        int alice = registry.acquire("alice");
+        registry.release("alice");
+
+        // a reader holding the old handle still resolves the old name
+        int carol = registry.acquire("carol");
+        assertNotEquals(alice, carol);
+        assertEquals("alice", registry.name(alice));
+        assertEquals("carol", registry.name(carol));
+    }
+
+    @Test
+    void releasedHandleIsReusedAfterTheQuarantine() {
+        IdRegistry registry = new IdRegistry(0);
+        int alice = registry.acquire("alice");
+        registry.release("alice");
+
+        int carol = registry.acquire("carol");
+        assertEquals(alice, carol);
+        assertEquals("carol", registry.name(carol));
+        assertEquals(carol + 1, registry.acquire("dave"));
+    }
+
+    @Test
+    void nameTableGrows() {
+        IdRegistry registry = new IdRegistry();
+        for (int i = 0; i < 3000; i++) {
+            assertEquals(i, registry.acquire("user" + i));
+        }
+        assertEquals("user2999", registry.name(2999));
+        assertEquals(3000, registry.size());
+    }
+}
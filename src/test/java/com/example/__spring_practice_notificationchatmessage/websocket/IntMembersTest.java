@@ -0,0 +1,99 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntMembersTest {
+
+    @Test
+    void addAndRemoveAreSetOperations() {
+        IntMembers members = new IntMembers();
+        assertTrue(members.isEmpty());
+
+        assertTrue(members.add(7));
+        assertTrue(members.add(3));
+        assertFalse(members.add(7));
+        assertEquals(2, members.size());
+        assertEquals(List.of(3, 7), toList(members));
+
+        assertTrue(members.remove(3));
+        assertFalse(members.remove(3));
+        assertFalse(members.remove(42));
+        assertEquals(List.of(7), toList(members));
+    }
+
+    @Test
+    void denseMembersPromoteToBitmap() {
+        IntMembers members = new IntMembers();
+        for (int i = 299; i >= 0; i--) {
+            members.add(i);
+        }
+
+        assertTrue(members.isBitmap());
+        assertEquals(300, members.size());
+        List<Integer> handles = toList(members);
+        for (int i = 0; i < 300; i++) {
+            assertEquals(i, handles.get(i));
+        }
+        assertFalse(members.add(150));
+    }
+
+    @Test
+    void sparseMembersStayAnArray() {
+        IntMembers members = new IntMembers();
+        for (int i = 0; i < 300; i++) {
+            members.add(i * 1000);
+        }
+
+        // a bitmap up to 299000 would be far larger than 300 ints
+        assertFalse(members.isBitmap());
+        assertEquals(300, members.size());
+        assertEquals(24 + 16 + 4L * 300, members.footprintBytes());
+    }
+
+    @Test
+    void bitmapDemotesOnceSmall() {
+        IntMembers members = new IntMembers();
+        for (int i = 0; i < 300; i++) {
+            members.add(i);
+        }
+        for (int i = 0; i < 172; i++) {
+            assertTrue(members.remove(i));
+        }
+        assertTrue(members.isBitmap());
+
+        assertTrue(members.remove(172));
+        assertFalse(members.isBitmap());
+        assertEquals(127, members.size());
+        assertEquals(173, toList(members).get(0));
+        assertEquals(299, toList(members).get(126));
+    }
+
+    @Test
+    void bitmapGrowsForLargerHandles() {
+        IntMembers members = new IntMembers();
+        for (int i = 0; i < 300; i++) {
+            members.add(i);
+        }
+        assertTrue(members.isBitmap());
+
+        assertTrue(members.add(10_000));
+        assertTrue(members.isBitmap());
+        assertEquals(301, members.size());
+        assertEquals(10_000, toList(members).get(300));
+        assertTrue(members.remove(10_000));
+        assertFalse(members.remove(20_000));
+    }
+
+    private static List<Integer> toList(IntMembers members) {
+        List<Integer> handles = new ArrayList<>();
+        members.forEach(handles::add);
+        return handles;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import com.example.__spring_practice_notificationchatmessage.model.DeliveryLane;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LaneQueueTest {
+
+    @Test
+    void servesHigherLanesFirstAndFifoWithinALane() {
+        LaneQueue<String> queue = new LaneQueue<>(100);
+        queue.addLast(DeliveryLane.LOW, "l1");
+        queue.addLast(DeliveryLane.NORMAL, "n1");
+        queue.addLast(DeliveryLane.HIGH, "h1");
+        queue.addLast(DeliveryLane.HIGH, "h2");
+
+        assertEquals(List.of("h1", "h2", "n1", "l1"), drain(queue, 4));
+        assertTrue(queue.isEmpty());
+        assertNull(queue.pollFirst());
+    }
+
+    @Test
+    void starvedLaneGetsATurnAfterTheLimit() {
+        LaneQueue<String> queue = new LaneQueue<>(2);
+        for (int i = 0; i < 6; i++) {
+            queue.addLast(DeliveryLane.HIGH, "h");
+            queue.addLast(DeliveryLane.LOW, "l");
+        }
+
+        assertEquals(List.of("h", "h", "l", "h", "h", "l", "h", "h", "l"), drain(queue, 9));
+        assertEquals(3, queue.size());
+    }
+
+    @Test
+    void everyLaneProgressesUnderPressure() {
+        LaneQueue<DeliveryLane> queue = new LaneQueue<>(2);
+        for (int i = 0; i < 100; i++) {
+            for (DeliveryLane lane : DeliveryLane.values()) {
+                queue.addLast(lane, lane);
+            }
+        }
+
+        List<DeliveryLane> served = drain(queue, 30);
+        for (DeliveryLane lane : DeliveryLane.values()) {
+            assertTrue(served.contains(lane), lane.name());
+        }
+        // a higher lane still gets more turns than the one below it
+        assertTrue(count(served, DeliveryLane.HIGH) > count(served, DeliveryLane.NORMAL));
+        assertTrue(count(served, DeliveryLane.NORMAL) > count(served, DeliveryLane.LOW));
+    }
+
+    @Test
+    void pollLowestTakesTheOldestItemOfTheLowestLane() {
+        LaneQueue<String> queue = new LaneQueue<>(2);
+        queue.addLast(DeliveryLane.HIGH, "h1");
+        queue.addLast(DeliveryLane.NORMAL, "n1");
+        queue.addLast(DeliveryLane.LOW, "l1");
+        queue.addLast(DeliveryLane.LOW, "l2");
+
+        assertEquals("l1", queue.pollLowest(DeliveryLane.NORMAL));
+        assertEquals("l2", queue.pollLowest(DeliveryLane.NORMAL));
+        assertEquals("n1", queue.pollLowest(DeliveryLane.NORMAL));
+        // HIGH is above the floor and never shed
+        assertNull(queue.pollLowest(DeliveryLane.NORMAL));
+        assertEquals(1, queue.size());
+        assertEquals(1, queue.size(DeliveryLane.HIGH));
+        assertEquals("h1", queue.pollFirst());
+    }
+
+    private static long count(List<DeliveryLane> served, DeliveryLane lane) {
+        return served.stream().filter(lane::equals).count();
+    }
+
+    private static <T> List<T> drain(LaneQueue<T> queue, int count) {
+        List<T> served = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            served.add(queue.pollFirst());
+        }
+        return served;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import com.example.__spring_practice_notificationchatmessage.config.MessagingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private RateLimiter rateLimiter;
+
+    @AfterEach
+    void tearDown() {
+        if (rateLimiter != null) {
+            rateLimiter.stop();
+        }
+    }
+
+    @Test
+    void roomDropRejectsOnceTheBurstIsSpent() {
+        rateLimiter = limiter(new MessagingProperties.Limit(1, 2, RateLimitPolicy.DROP, Duration.ZERO));
+        List<Integer> sent = new CopyOnWriteArrayList<>();
+
+        assertTrue(rateLimiter.submitRoom("room1", () -> sent.add(1)));
+        assertTrue(rateLimiter.submitRoom("room1", () -> sent.add(2)));
+        assertFalse(rateLimiter.submitRoom("room1", () -> sent.add(3)));
+        // buckets are per room
+        assertTrue(rateLimiter.submitRoom("room2", () -> sent.add(4)));
+
+        assertEquals(List.of(1, 2, 4), sent);
+        assertEquals(1, rateLimiter.snapshot().dropped());
+    }
+
+    @Test
+    void roomDelayDefersToTheSchedulerAndKeepsOrder() throws Exception {
+        // one permit per 100ms, so every message after the first is delayed
+        rateLimiter = limiter(new MessagingProperties.Limit(10, 1, RateLimitPolicy.DELAY, Duration.ofSeconds(1)));
+        String caller = Thread.currentThread().getName();
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(5);
+
+        for (int i = 0; i < 5; i++) {
+            int message = i;
+            assertTrue(rateLimiter.submitRoom("room1", () -> {
+                order.add(message);
+                threads.add(Thread.currentThread().getName());
+                done.countDown();
+            }));
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(0, 1, 2, 3, 4), order);
+        assertEquals(caller, threads.get(0));
+        for (String thread : threads.subList(1, threads.size())) {
+            assertNotEquals(caller, thread);
+        }
+        assertEquals(4, rateLimiter.snapshot().delayed());
+    }
+
+    @Test
+    void inboundDisconnectOnlyAfterTheBurst() {
+        MessagingProperties properties = new MessagingProperties();
+        properties.getRateLimit().setInbound(new MessagingProperties.Limit(1, 1, RateLimitPolicy.DISCONNECT, Duration.ZERO));
+        rateLimiter = new RateLimiter(properties);
+
+        assertEquals(RateLimiter.Verdict.PASS, rateLimiter.acquireInbound("user1"));
+        assertEquals(RateLimiter.Verdict.DISCONNECT, rateLimiter.acquireInbound("user1"));
+        assertEquals(RateLimiter.Verdict.PASS, rateLimiter.acquireInbound("user2"));
+    }
+
+    @Test
+    void disabledPassesEverything() {
+        MessagingProperties properties = new MessagingProperties();
+        properties.getRateLimit().setEnabled(false);
+        properties.getRateLimit().setRoom(new MessagingProperties.Limit(1, 1, RateLimitPolicy.DROP, Duration.ZERO));
+        rateLimiter = new RateLimiter(properties);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(rateLimiter.submitRoom("room1", () -> {
+            }));
+        }
+        assertEquals(0, rateLimiter.snapshot().roomThrottled());
+    }
+
+    private static RateLimiter limiter(MessagingProperties.Limit room) {
+        MessagingProperties properties = new MessagingProperties();
+        properties.getRateLimit().setRoom(room);
+        return new RateLimiter(properties);
+    }
+}
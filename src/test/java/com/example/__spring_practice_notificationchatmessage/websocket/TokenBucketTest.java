@@ -0,0 +1,91 @@
+package com.example.__spring_practice_notificationchatmessage.websocket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void grantsTheBurstAtOnceThenDenies() {
+        // 10/s: one permit per 100ms, up to 5 at once
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.reserve(0, 0));
+        }
+        assertEquals(-1, bucket.reserve(0, 0));
+    }
+
+    @Test
+    void reservesFromTheFutureWithinMaxWait() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+        assertEquals(0, bucket.reserve(0, 0));
+
+        // denied reservations take nothing, so the next one still waits one interval
+        assertEquals(-1, bucket.reserve(0, 99 * MILLIS));
+        assertEquals(100 * MILLIS, bucket.reserve(0, 100 * MILLIS));
+        assertEquals(200 * MILLIS, bucket.reserve(0, 200 * MILLIS));
+    }
+
+    @Test
+    void refillsOnePermitPerInterval() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        for (int i = 0; i < 5; i++) {
+            bucket.reserve(0, 0);
+        }
+
+        assertEquals(-1, bucket.reserve(99 * MILLIS, 0));
+        assertEquals(0, bucket.reserve(100 * MILLIS, 0));
+        assertEquals(-1, bucket.reserve(100 * MILLIS, 0));
+    }
+
+    @Test
+    void isFullOnceEveryPermitHasRefilled() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        assertTrue(bucket.isFull(0));
+        for (int i = 0; i < 5; i++) {
+            bucket.reserve(0, 0);
+        }
+
+        assertFalse(bucket.isFull(499 * MILLIS));
+        assertTrue(bucket.isFull(500 * MILLIS));
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws Exception {
+        TokenBucket bucket = new TokenBucket(1, 100, 0);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Integer>> callers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                callers.add(() -> {
+                    int granted = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        if (bucket.reserve(0, 0) == 0) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                });
+            }
+            int granted = 0;
+            for (Future<Integer> result : pool.invokeAll(callers)) {
+                granted += result.get();
+            }
+            assertEquals(100, granted);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}